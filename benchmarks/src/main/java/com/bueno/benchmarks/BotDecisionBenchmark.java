@@ -0,0 +1,114 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.benchmarks;
+
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceManager;
+import com.bueno.spi.service.BotServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Measures the decision methods of bots at the first round of random hands. The bots are set by BenchmarkRunner, which
+// passes every registered bot unless some are selected with -p botName=<BotServiceProvider.getName()>,...
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class BotDecisionBenchmark {
+
+    private static final int NUMBER_OF_INTELS = 256;
+
+    @Param
+    private String botName;
+
+    private final List<GameIntel> intels = new ArrayList<>(NUMBER_OF_INTELS);
+    private final List<GameIntel> maoDeOnzeIntels = new ArrayList<>(NUMBER_OF_INTELS);
+    private BotServiceProvider bot;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        if (!BotServiceManager.isAvailable(botName))
+            throw new IllegalArgumentException("Bot not available: " + botName + ". Available bots: "
+                    + BotServiceManager.providersNames());
+        bot = BotServiceManager.newInstance(botName);
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < NUMBER_OF_INTELS; i++) {
+            intels.add(randomFirstRoundIntel(random, random.nextInt(11)));
+            maoDeOnzeIntels.add(randomFirstRoundIntel(random, 11));
+        }
+    }
+
+    private GameIntel randomFirstRoundIntel(SplittableRandom random, int score) {
+        final List<TrucoCard> deck = new ArrayList<>(40);
+        for (int ordinal = 1; ordinal <= 40; ordinal++) deck.add(TrucoCard.ofOrdinal(ordinal));
+        for (int i = deck.size() - 1; i > 0; i--) deck.set(i, deck.set(random.nextInt(i + 1), deck.get(i)));
+
+        final TrucoCard vira = deck.get(0);
+        final TrucoCard opponentCard = random.nextBoolean() ? deck.get(4) : null;
+        final List<TrucoCard> openCards = opponentCard == null ? List.of(vira) : List.of(vira, opponentCard);
+
+        return GameIntel.StepBuilder.with()
+                .gameInfo(List.of(), openCards, vira, 1)
+                .botInfo(new ArrayList<>(deck.subList(1, 4)), score)
+                .opponentScore(random.nextInt(11))
+                .opponentCard(opponentCard)
+                .build();
+    }
+
+    private GameIntel nextIntel() {
+        next = (next + 1) % NUMBER_OF_INTELS;
+        return intels.get(next);
+    }
+
+    private GameIntel nextMaoDeOnzeIntel() {
+        next = (next + 1) % NUMBER_OF_INTELS;
+        return maoDeOnzeIntels.get(next);
+    }
+
+    @Benchmark
+    public CardToPlay chooseCard() {
+        return bot.chooseCard(nextIntel());
+    }
+
+    @Benchmark
+    public boolean decideIfRaises() {
+        return bot.decideIfRaises(nextIntel());
+    }
+
+    @Benchmark
+    public int getRaiseResponse() {
+        return bot.getRaiseResponse(nextIntel());
+    }
+
+    @Benchmark
+    public boolean getMaoDeOnzeResponse() {
+        return bot.getMaoDeOnzeResponse(nextMaoDeOnzeIntel());
+    }
+}
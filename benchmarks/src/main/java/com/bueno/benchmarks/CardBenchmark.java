@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.benchmarks;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.Deck;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+
+    private static final int PAIRS = 1024;
+    private final Card[] cards = new Card[PAIRS];
+    private final Card[] otherCards = new Card[PAIRS];
+    private final Card[] viras = new Card[PAIRS];
+
+    @Setup
+    public void setUp() {
+        final Deck deck = new Deck(new SplittableRandom(42));
+        for (int i = 0; i < PAIRS; i++) {
+            deck.reset();
+            deck.shuffle();
+            final List<Card> dealt = deck.take(3);
+            cards[i] = dealt.get(0);
+            otherCards[i] = dealt.get(1);
+            viras[i] = dealt.get(2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void compareValueTo(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) blackhole.consume(cards[i].compareValueTo(otherCards[i], viras[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void isManilha(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) blackhole.consume(cards[i].isManilha(viras[i]));
+    }
+}
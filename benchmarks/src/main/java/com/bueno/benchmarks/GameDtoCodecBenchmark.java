@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.benchmarks;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.converter.GameDtoCodec;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.game.service.SimulationEngine;
+import com.bueno.persistence.dto.GameEntity;
+import com.mongodb.MongoClientSettings;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Compares the binary format of games with their document mapping, from the GameDto to the bytes sent to Mongo and
+// back. The encoding benchmarks also report the size of what they write, as the bytes counter of their results.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameDtoCodecBenchmark {
+
+    private final DocumentCodec documentCodec = new DocumentCodec(CodecRegistries.withUuidRepresentation(
+            MongoClientSettings.getDefaultCodecRegistry(), UuidRepresentation.STANDARD));
+    private MappingMongoConverter converter;
+    private GameDto dto;
+    private Map<UUID, PlayerDto> players;
+    private byte[] binary;
+    private RawBsonDocument bson;
+
+    // Converts a finished game, which has the full history of all of its hands.
+    @Setup
+    public void setUp() {
+        final Game newGame = new Game(Player.ofBot("DummyBot"), Player.ofBot("MineiroByBueno"), new SplittableRandom(42));
+        dto = GameConverter.toDto(new SimulationEngine().play(newGame));
+        players = Map.of(dto.player1().uuid(), dto.player1(), dto.player2().uuid(), dto.player2());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        binary = GameDtoCodec.encode(dto);
+        bson = toDocument();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(Size size) {
+        final byte[] encoded = GameDtoCodec.encode(dto);
+        size.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public GameDto decodeBinary() {
+        return GameDtoCodec.decode(binary);
+    }
+
+    @Benchmark
+    public RawBsonDocument writeDocument(Size size) {
+        final RawBsonDocument written = toDocument();
+        size.bytes = written.getByteBuffer().remaining();
+        return written;
+    }
+
+    private RawBsonDocument toDocument() {
+        final Document document = new Document();
+        converter.write(GameEntity.from(dto), document);
+        return new RawBsonDocument(document, documentCodec);
+    }
+
+    @Benchmark
+    public GameDto readDocument() {
+        return converter.read(GameEntity.class, bson.decode(documentCodec)).toDto(players);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.benchmarks;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.Deck;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.intel.Event;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.player.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+
+    private final Deck deck = new Deck(new SplittableRandom(42));
+    private final UUID uuid1 = UUID.randomUUID();
+    private final UUID uuid2 = UUID.randomUUID();
+    private Hand playedHand;
+
+    @Setup
+    public void setUp() {
+        playedHand = playHand();
+    }
+
+    // Deals a hand, raises and accepts the bet, and plays the first card of each player until the hand is done.
+    @Benchmark
+    public Hand playHand() {
+        deck.reset();
+        deck.shuffle();
+        final Card vira = deck.takeOne();
+        final Player player1 = new Player(deck.take(3), "Player1", uuid1, 0, false);
+        final Player player2 = new Player(deck.take(3), "Player2", uuid2, 0, false);
+        final Hand hand = new Hand(player1, player2, vira);
+
+        hand.raise(player1);
+        hand.accept(player2);
+        while (!hand.isDone()) {
+            final Player player = hand.getCurrentPlayer();
+            final Card card = player.play(player.getCards().get(0));
+            if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(player, card);
+            else hand.playSecondCard(player, card);
+        }
+        return hand;
+    }
+
+    @Benchmark
+    public Intel intelOfHand() {
+        return Intel.ofHand(playedHand, Event.PLAY);
+    }
+}
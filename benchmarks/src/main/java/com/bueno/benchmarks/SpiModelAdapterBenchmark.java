@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.benchmarks;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.converter.SpiModelAdapter;
+import com.bueno.domain.usecases.bot.converter.SpiModelAdapter.IncrementalGameIntelBuilder;
+import com.bueno.spi.model.GameIntel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpiModelAdapterBenchmark {
+
+    private final IncrementalGameIntelBuilder builder = new IncrementalGameIntelBuilder();
+    private Player player;
+    private Intel intel;
+
+    // Converts the intel of the second round, after the first round and the first card of the second one.
+    @Setup
+    public void setUp() {
+        final Game game = new Game(Player.ofBot("DummyBot"), Player.ofBot("DummyBot"), new SplittableRandom(42));
+        final Hand hand = game.currentHand();
+        for (int i = 0; i < 3; i++) {
+            final Player current = hand.getCurrentPlayer();
+            final var card = current.play(current.getCards().get(0));
+            if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(current, card);
+            else hand.playSecondCard(current, card);
+        }
+        player = hand.getCurrentPlayer();
+        intel = hand.getLastIntel();
+    }
+
+    @Benchmark
+    public GameIntel toGameIntel() {
+        return SpiModelAdapter.toGameIntel(player, intel);
+    }
+
+    @Benchmark
+    public GameIntel buildIncrementally() {
+        return builder.build(player, intel);
+    }
+}
@@ -31,13 +31,58 @@ import java.util.Objects;
  * */
 public final class TrucoCard {
 
-    private static final TrucoCard[] cache = new TrucoCard[41];
+    private static final int NUMBER_OF_CARDS = 41;
+    private static final int INVALID_VALUE = -1;
+    private static final TrucoCard[] cache = new TrucoCard[NUMBER_OF_CARDS];
+
+    // Relative values and manilhas of every card for every vira, indexed by vira ordinal * 41 + card ordinal.
+    private static final byte[] relativeValues = new byte[NUMBER_OF_CARDS * NUMBER_OF_CARDS];
+    private static final boolean[] manilhas = new boolean[NUMBER_OF_CARDS * NUMBER_OF_CARDS];
+
     private final CardSuit suit;
     private final CardRank rank;
+    private final int ordinal;
+
+    static {
+        for (CardRank rank : CardRank.values())
+            for (CardSuit suit : CardSuit.values())
+                if (rank == CardRank.HIDDEN == (suit == CardSuit.HIDDEN)) {
+                    final TrucoCard card = new TrucoCard(rank, suit);
+                    cache[card.ordinal] = card;
+                }
+
+        for (TrucoCard vira : cache) {
+            for (TrucoCard card : cache) {
+                final int index = vira.ordinal * NUMBER_OF_CARDS + card.ordinal;
+                manilhas[index] = card.rank == vira.rank.next();
+                relativeValues[index] = (byte) computeRelativeValue(card, vira, manilhas[index]);
+            }
+        }
+    }
 
     private TrucoCard(CardRank rank, CardSuit suit) {
         this.rank = rank;
         this.suit = suit;
+        this.ordinal = ordinalOf(rank, suit);
+    }
+
+    private static int ordinalOf(CardRank rank, CardSuit suit) {
+        int rankValue = rank.value();
+        int suitValue = suit.value();
+        return rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+    }
+
+    private static int computeRelativeValue(TrucoCard card, TrucoCard vira, boolean isManilha) {
+        if (isManilha)
+            return switch (card.suit) {
+                case DIAMONDS -> 10;
+                case SPADES -> 11;
+                case HEARTS -> 12;
+                case CLUBS -> 13;
+                case HIDDEN -> INVALID_VALUE;
+            };
+        if(card.rank.value() > vira.rank.value()) return card.rank.value() - 1;
+        return card.rank.value();
     }
 
     /**
@@ -74,12 +119,31 @@ public final class TrucoCard {
     }
 
     private static TrucoCard fromCache(CardRank rank, CardSuit suit) {
-        int rankValue = rank.value();
-        int suitValue = suit.value();
-        int cachePosition = rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
+        return cache[ordinalOf(rank, suit)];
+    }
 
-        if (cache[cachePosition] == null) cache[cachePosition] = new TrucoCard(rank, suit);
-        return cache[cachePosition];
+    /**
+     * <p>Gets the card with the given ordinal, which is the inverse of the {@link #ordinal()} method.</p>
+     *
+     * @param ordinal a card ordinal, from 0 to 40
+     * @return the cached TrucoCard represented by the {@code ordinal}
+     * @throws IllegalArgumentException if {@code ordinal} is not between 0 and 40
+     */
+    public static TrucoCard ofOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= NUMBER_OF_CARDS)
+            throw new IllegalArgumentException("Card ordinal must be between 0 and 40, but was: " + ordinal);
+        return cache[ordinal];
+    }
+
+    /**
+     * <p>Gets the card ordinal, a compact card identifier that can be used as array index. The closed card has
+     * ordinal 0 and the open cards go from 1 (four of diamonds) to 40 (three of clubs), sorted by rank and then
+     * by suit.</p>
+     *
+     * @return the card ordinal, from 0 to 40
+     */
+    public int ordinal() {
+        return ordinal;
     }
 
 
@@ -133,16 +197,9 @@ public final class TrucoCard {
      */
     public int relativeValue(TrucoCard vira) {
         Objects.requireNonNull(vira, "Vira card must not be null.");
-        if (isManilha(vira))
-            return switch (suit) {
-                case DIAMONDS -> 10;
-                case SPADES -> 11;
-                case HEARTS -> 12;
-                case CLUBS -> 13;
-                case HIDDEN -> throw new IllegalStateException("Closed card can not be manilha!");
-            };
-        if(rank.value() > vira.rank.value()) return rank.value() - 1;
-        return rank.value();
+        final int value = relativeValues[vira.ordinal * NUMBER_OF_CARDS + ordinal];
+        if (value == INVALID_VALUE) throw new IllegalStateException("Closed card can not be manilha!");
+        return value;
     }
 
     /**
@@ -159,8 +216,7 @@ public final class TrucoCard {
      */
     public boolean isManilha(TrucoCard vira) {
         Objects.requireNonNull(vira, "TrucoCard representing the vira must not be null.");
-        return getRank() == vira.getRank().next();
-
+        return manilhas[vira.ordinal * NUMBER_OF_CARDS + ordinal];
     }
 
     /**
@@ -176,7 +232,7 @@ public final class TrucoCard {
      * @throws NullPointerException if {@code vira} is null
      */
     public boolean isZap(TrucoCard vira) {
-        return isManilha(vira) && suit == CardSuit.CLUBS;
+        return manilhas[vira.ordinal * NUMBER_OF_CARDS + ordinal] && suit == CardSuit.CLUBS;
     }
 
     /**
@@ -192,7 +248,7 @@ public final class TrucoCard {
      * @throws NullPointerException if {@code vira} is null
      */
     public boolean isCopas(TrucoCard vira) {
-        return isManilha(vira) && suit == CardSuit.HEARTS;
+        return manilhas[vira.ordinal * NUMBER_OF_CARDS + ordinal] && suit == CardSuit.HEARTS;
     }
 
     /**
@@ -208,7 +264,7 @@ public final class TrucoCard {
      * @throws NullPointerException if {@code vira} is null
      */
     public boolean isEspadilha(TrucoCard vira) {
-        return isManilha(vira) && suit == CardSuit.SPADES;
+        return manilhas[vira.ordinal * NUMBER_OF_CARDS + ordinal] && suit == CardSuit.SPADES;
     }
 
     /**
@@ -224,7 +280,7 @@ public final class TrucoCard {
      * @throws NullPointerException if {@code vira} is null
      */
     public boolean isOuros(TrucoCard vira) {
-        return isManilha(vira) && suit == CardSuit.DIAMONDS;
+        return manilhas[vira.ordinal * NUMBER_OF_CARDS + ordinal] && suit == CardSuit.DIAMONDS;
     }
 
     public CardRank getRank() {
@@ -240,7 +296,12 @@ public final class TrucoCard {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TrucoCard card = (TrucoCard) o;
-        return rank == card.rank && suit == card.suit;
+        return ordinal == card.ordinal;
+    }
+
+    @Override
+    public int hashCode() {
+        return ordinal;
     }
 
     @Override
@@ -20,27 +20,58 @@
 
 package com.bueno.spi.service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.ServiceLoader;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * <p>Registry of the available {@link BotServiceProvider} implementations. The service providers are scanned only
+ * once and indexed by {@link BotServiceProvider#getName()}, so looking up a bot by name costs a single hash probe.</p>
+ *
+ * <p>Bots may keep state in their fields. Therefore, only the providers are cached: {@link #load(String)} and
+ * {@link #newInstance(String)} always return a fresh instance, and callers that want to reuse a bot during a game,
+ * as the simulation engine does, must hold it themselves.</p>
+ * */
 public class BotServiceManager {
 
+    private BotServiceManager() {}
+
+    private static final class Registry {
+        private static final Map<String, ServiceLoader.Provider<BotServiceProvider>> providers = scan();
+        private static final List<String> names = List.copyOf(providers.keySet());
+
+        private static Map<String, ServiceLoader.Provider<BotServiceProvider>> scan() {
+            final Map<String, ServiceLoader.Provider<BotServiceProvider>> index = new LinkedHashMap<>();
+            ServiceLoader.load(BotServiceProvider.class).stream()
+                    .forEach(provider -> index.putIfAbsent(provider.get().getName(), provider));
+            return Collections.unmodifiableMap(index);
+        }
+    }
+
     public static Stream<BotServiceProvider> providers() {
-        return ServiceLoader.load(BotServiceProvider.class).stream().map(ServiceLoader.Provider::get);
+        return Registry.names.stream().map(BotServiceManager::load);
     }
 
     public static BotServiceProvider load(String botServiceName){
-        final Predicate<BotServiceProvider> hasName = botImpl -> botImpl.getName().equals(botServiceName);
-        final Optional<BotServiceProvider> possibleBot = providers().filter(hasName).findAny();
-        return possibleBot.orElseThrow(() -> new NoSuchElementException("Service implementation not available: " + botServiceName));
+        return newInstance(botServiceName);
+    }
+
+    public static BotServiceProvider newInstance(String botServiceName){
+        final ServiceLoader.Provider<BotServiceProvider> provider = Registry.providers.get(botServiceName);
+        if (provider == null)
+            throw new NoSuchElementException("Service implementation not available: " + botServiceName);
+        return provider.get();
+    }
+
+    public static boolean isAvailable(String botServiceName){
+        return botServiceName != null && Registry.providers.containsKey(botServiceName);
     }
 
     public static List<String> providersNames(){
-        return providers().map(BotServiceProvider::getName).collect(Collectors.toList());
+        return Registry.names;
     }
 }
@@ -254,4 +254,34 @@ class TrucoCardTest {
         assertEquals("[XX]", TrucoCard.closed().toString());
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest(name = "[{index}]: rank {0} and suit {1} = {2}")
+    @DisplayName("Should get card ordinal from its rank and suit")
+    @CsvSource({"HIDDEN,HIDDEN,0", "FOUR,DIAMONDS,1", "FOUR,CLUBS,4", "SEVEN,SPADES,14", "THREE,CLUBS,40"})
+    void shouldGetCardOrdinalFromItsRankAndSuit(CardRank rank, CardSuit suit, int ordinal) {
+        final TrucoCard card = TrucoCard.of(rank, suit);
+        assertAll(
+                () -> assertEquals(ordinal, card.ordinal()),
+                () -> assertSame(card, TrucoCard.ofOrdinal(ordinal))
+        );
+    }
+
+    @Test
+    @DisplayName("Should throw if tries to get card of invalid ordinal")
+    void shouldThrowIfTriesToGetCardOfInvalidOrdinal() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> TrucoCard.ofOrdinal(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> TrucoCard.ofOrdinal(41))
+        );
+    }
+
+    @Test
+    @DisplayName("Should not consider a non manilha card of same value as ouros")
+    void shouldNotConsiderANonManilhaCardOfSameValueAsOuros() {
+        final TrucoCard vira = TrucoCard.of(THREE, SPADES);
+        final TrucoCard card = TrucoCard.of(THREE, DIAMONDS);
+        assertAll(
+                () -> assertEquals(10, card.relativeValue(vira)),
+                () -> assertFalse(card.isOuros(vira))
+        );
+    }
+}
@@ -24,13 +24,24 @@ import java.util.Objects;
 
 public final class Card {
 
-    private static final Card[] cache = new Card[41];
+    private static final Card[] cache = new Card[CardCodec.NUMBER_OF_CODES];
     private final Suit suit;
     private final Rank rank;
+    private final int code;
+
+    static {
+        for (Rank rank : Rank.values())
+            for (Suit suit : Suit.values())
+                if (rank == Rank.HIDDEN == (suit == Suit.HIDDEN)) {
+                    final Card card = new Card(rank, suit);
+                    cache[card.code] = card;
+                }
+    }
 
     private Card(Rank rank, Suit suit) {
         this.rank = rank;
         this.suit  = suit;
+        this.code = CardCodec.encode(rank, suit);
     }
 
     public static Card of(Rank rank, Suit suit){
@@ -39,41 +50,29 @@ public final class Card {
         if(rank == Rank.HIDDEN ^ suit == Suit.HIDDEN)
             throw new IllegalArgumentException("Both rank and suit must be HIDDEN or none: " + rank + suit);
 
-        return fromCache(rank, suit);
+        return cache[CardCodec.encode(rank, suit)];
     }
 
     public static Card closed(){
-        return fromCache(Rank.HIDDEN, Suit.HIDDEN);
+        return cache[CardCodec.CLOSED];
     }
 
-    private static Card fromCache(Rank rank, Suit suit){
-        int rankValue = rank.value();
-        int suitValue = suit.value();
-        int cachePosition = rankValue == 0 || suitValue == 0 ? 0 : (rankValue - 1) * 4 + suitValue;
-
-        if(cache[cachePosition] == null) cache[cachePosition] = new Card(rank, suit);
-        return cache[cachePosition];
+    static Card ofCode(int code){
+        if(code < 0 || code >= cache.length) throw new IllegalArgumentException("Invalid card code: " + code);
+        return cache[code];
     }
 
-    public int compareValueTo(Card otherCard, Card vira){
-        return this.computeCardValue(vira) - otherCard.computeCardValue(vira);
+    int code() {
+        return code;
     }
 
-    private int computeCardValue(Card vira) {
-        if (isManilha(vira))
-            return switch (suit) {
-                case DIAMONDS -> 10;
-                case SPADES -> 11;
-                case HEARTS -> 12;
-                case CLUBS -> 13;
-                case HIDDEN -> throw new IllegalStateException("Closed card can not be manilha!");
-            };
-        if(rank.value() > vira.rank.value()) return rank.value() - 1;
-        return rank.value();
+    public int compareValueTo(Card otherCard, Card vira){
+        final int viraRank = vira.rank.value();
+        return CardCodec.relativeValue(code, viraRank) - CardCodec.relativeValue(otherCard.code, viraRank);
     }
 
     public boolean isManilha(Card vira){
-        return getRank() == vira.getRank().next();
+        return CardCodec.isManilha(code, vira.rank.value());
     }
     public boolean isClosed() {
         return rank.equals(Rank.HIDDEN) && suit.equals(Suit.HIDDEN);
@@ -92,7 +91,12 @@ public final class Card {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Card card = (Card) o;
-        return rank == card.rank && suit == card.suit;
+        return code == card.code;
+    }
+
+    @Override
+    public int hashCode() {
+        return code;
     }
 
     @Override
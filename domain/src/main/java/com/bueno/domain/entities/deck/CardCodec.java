@@ -0,0 +1,138 @@
+/*
+ *  Copyright (C) 2021 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.deck;
+
+import java.util.Objects;
+
+// Primitive encoding of cards for the hot paths of the game. A card is encoded by its cache index in Card: 0 for the
+// closed card and (rank - 1) * 4 + suit for the 40 cards of the deck. Relative values and manilhas are precomputed
+// for every possible vira rank, and sets of cards are represented as long bitmasks in which bit n stands for code n.
+public final class CardCodec {
+
+    public static final int CLOSED = 0;
+    public static final int NUMBER_OF_CODES = 41;
+    public static final int NUMBER_OF_RANKS = 11;
+
+    private static final int INVALID_VALUE = -1;
+    private static final int[][] relativeValues = new int[NUMBER_OF_RANKS][NUMBER_OF_CODES];
+    private static final long[] manilhas = new long[NUMBER_OF_RANKS];
+
+    static {
+        for (Rank vira : Rank.values()) {
+            for (Rank rank : Rank.values()) {
+                for (Suit suit : Suit.values()) {
+                    if (rank == Rank.HIDDEN ^ suit == Suit.HIDDEN) continue;
+                    final int code = encode(rank, suit);
+                    final boolean isManilha = rank == vira.next();
+                    if (isManilha) manilhas[vira.value()] |= 1L << code;
+                    relativeValues[vira.value()][code] = computeRelativeValue(rank, suit, vira, isManilha);
+                }
+            }
+        }
+    }
+
+    private CardCodec() {
+    }
+
+    private static int computeRelativeValue(Rank rank, Suit suit, Rank vira, boolean isManilha) {
+        if (isManilha) return suit == Suit.HIDDEN ? INVALID_VALUE : 9 + suit.value();
+        if (rank.value() > vira.value()) return rank.value() - 1;
+        return rank.value();
+    }
+
+    public static int encode(Card card) {
+        return card.code();
+    }
+
+    static int encode(Rank rank, Suit suit) {
+        final int rankValue = rank.value();
+        final int suitValue = suit.value();
+        return rankValue == 0 || suitValue == 0 ? CLOSED : (rankValue - 1) * 4 + suitValue;
+    }
+
+    public static Card decode(int code) {
+        return Card.ofCode(code);
+    }
+
+    public static int rankOf(int code) {
+        return code == CLOSED ? 0 : (code - 1) / 4 + 1;
+    }
+
+    public static int relativeValue(int code, int viraRank) {
+        final int value = relativeValues[viraRank][code];
+        if (value == INVALID_VALUE) throw new IllegalStateException("Closed card can not be manilha!");
+        return value;
+    }
+
+    public static int relativeValue(Card card, Card vira) {
+        return relativeValue(card.code(), rankOf(vira.code()));
+    }
+
+    public static boolean isManilha(int code, int viraRank) {
+        return (manilhas[viraRank] & 1L << code) != 0;
+    }
+
+    public static long manilhas(int viraRank) {
+        return manilhas[viraRank];
+    }
+
+    public static long toMask(Iterable<Card> cards) {
+        Objects.requireNonNull(cards);
+        long mask = 0L;
+        for (Card card : cards) mask |= 1L << card.code();
+        return mask;
+    }
+
+    public static long add(long mask, int code) {
+        return mask | 1L << code;
+    }
+
+    public static long remove(long mask, int code) {
+        return mask & ~(1L << code);
+    }
+
+    public static boolean contains(long mask, int code) {
+        return (mask & 1L << code) != 0;
+    }
+
+    public static int size(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static int countManilhas(long mask, int viraRank) {
+        return Long.bitCount(mask & manilhas[viraRank]);
+    }
+
+    // Returns the code of the strongest card in the mask, or -1 if the mask is empty.
+    public static int strongest(long mask, int viraRank) {
+        int strongest = -1;
+        int strongestValue = INVALID_VALUE;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            final int code = Long.numberOfTrailingZeros(remaining);
+            final int value = relativeValues[viraRank][code];
+            if (value > strongestValue) {
+                strongest = code;
+                strongestValue = value;
+            }
+        }
+        return strongest;
+    }
+}
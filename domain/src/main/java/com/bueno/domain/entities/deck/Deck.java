@@ -21,38 +21,79 @@
 package com.bueno.domain.entities.deck;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+// Cards are kept as CardCodec codes in a fixed array. Cards before the cursor have already been dealt, and the
+// remaining mask has a bit set for every card code that is still in the deck.
 public class Deck {
-    private final List<Card> cards = new ArrayList<>();
+    private static final int NUMBER_OF_CARDS = 40;
+    private static final long FULL_DECK = ((1L << NUMBER_OF_CARDS) - 1) << 1;
+
+    private final int[] codes = new int[NUMBER_OF_CARDS];
+    private final RandomGenerator random;
+    private int cursor;
+    private long remaining;
 
     public Deck() {
+        this(null);
+    }
+
+    //Use a seeded generator to reproduce the deals. Without one, each thread shuffles with its own ThreadLocalRandom.
+    public Deck(RandomGenerator random) {
+        this.random = random;
+        generateSortedDeck();
+    }
+
+    public void reset() {
         generateSortedDeck();
     }
 
     private void generateSortedDeck() {
-        for(Rank rank : Rank.values())
-            for(Suit suit : Suit.values())
-                if(rank != Rank.HIDDEN && suit != Suit.HIDDEN)
-                    cards.add(Card.of(rank, suit));
+        for (int i = 0; i < NUMBER_OF_CARDS; i++) codes[i] = i + 1;
+        cursor = 0;
+        remaining = FULL_DECK;
     }
 
     public List<Card> take(int numberOfCards) {
-        final List<Card> cardsTaken = new ArrayList<>(cards.subList(0, numberOfCards));
-        cards.removeAll(cardsTaken);
+        if (numberOfCards < 0 || numberOfCards > size())
+            throw new IndexOutOfBoundsException("Can not take " + numberOfCards + " cards from deck of size " + size());
+        final List<Card> cardsTaken = new ArrayList<>(numberOfCards);
+        for (int i = 0; i < numberOfCards; i++) cardsTaken.add(CardCodec.decode(takeOneCode()));
         return cardsTaken;
     }
 
     public Card takeOne() {
-        return cards.remove(0);
+        if (size() == 0) throw new IndexOutOfBoundsException("Can not take a card from an empty deck");
+        return CardCodec.decode(takeOneCode());
+    }
+
+    private int takeOneCode() {
+        final int code = codes[cursor++];
+        remaining &= ~(1L << code);
+        return code;
     }
 
     public void shuffle() {
-        Collections.shuffle(cards);
+        final RandomGenerator generator = random == null ? ThreadLocalRandom.current() : random;
+        for (int i = NUMBER_OF_CARDS - 1; i > cursor; i--) {
+            final int j = cursor + generator.nextInt(i - cursor + 1);
+            final int code = codes[i];
+            codes[i] = codes[j];
+            codes[j] = code;
+        }
+    }
+
+    public boolean contains(Card card) {
+        return CardCodec.contains(remaining, CardCodec.encode(card));
+    }
+
+    public long remainingCards() {
+        return remaining;
     }
 
     public int size() {
-        return cards.size();
+        return NUMBER_OF_CARDS - cursor;
     }
 }
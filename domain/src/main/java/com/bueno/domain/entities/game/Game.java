@@ -30,7 +30,7 @@ import com.bueno.domain.entities.player.Player;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class Game {
@@ -41,6 +41,7 @@ public class Game {
     private final Player player1;
     private final Player player2;
     private final List<Hand> hands;
+    private final long version;
 
     private Player firstToPlay;
     private Player lastToPlay;
@@ -53,6 +54,10 @@ public class Game {
         this(player1, player2, UUID.randomUUID(), deck);
     }
 
+    public Game(Player player1, Player player2, RandomGenerator random) {
+        this(player1, player2, UUID.randomUUID(), new Deck(random));
+    }
+
     public Game(Player player1, Player player2, UUID uuid, Deck deck) {
         this.deck = deck;
         this.player1 = Objects.requireNonNull(player1);
@@ -60,30 +65,47 @@ public class Game {
         this.uuid = uuid;
         this.hands = new ArrayList<>();
         this.timestamp = LocalDateTime.now();
+        this.version = 0;
         prepareNewHand();
     }
 
     public Game(UUID uuid, LocalDateTime timestamp, Player player1, Player player2, Player firstToPlay,
-                Player lastToPlay, List<Hand> hands) {
+                Player lastToPlay, List<Hand> hands, long version) {
         this.uuid = uuid;
+        this.version = version;
         this.timestamp = timestamp;
         this.player1 = player1;
         this.player2 = player2;
         this.firstToPlay = firstToPlay;
         this.lastToPlay = lastToPlay;
         this.hands = new ArrayList<>(hands);
+        this.hands.stream().limit(Math.max(0, hands.size() - 1)).forEach(Hand::releaseLastIntel);
     }
 
     public void prepareNewHand() {
-        defineHandPlayingOrder();
-
         if(deck == null) deck = new Deck();
+        else deck.reset();
         deck.shuffle();
 
         final Card vira = deck.takeOne();
-        firstToPlay.setCards(deck.take(3));
-        lastToPlay.setCards(deck.take(3));
+        final List<Card> firstToPlayCards = deck.take(3);
+        final List<Card> lastToPlayCards = deck.take(3);
+        dealNewHand(vira, firstToPlayCards, lastToPlayCards);
+    }
 
+    // Deals the given cards instead of shuffling the deck. They are in the order of Hand.getDealtCards(): the vira,
+    // then the cards of the player that plays first and the cards of the player that plays last.
+    public void prepareNewHand(List<Card> dealtCards) {
+        if(dealtCards.size() != 7) throw new IllegalArgumentException("A hand must be dealt with 7 cards: " + dealtCards);
+        dealNewHand(dealtCards.get(0), dealtCards.subList(1, 4), dealtCards.subList(4, 7));
+    }
+
+    private void dealNewHand(Card vira, List<Card> firstToPlayCards, List<Card> lastToPlayCards) {
+        defineHandPlayingOrder();
+        firstToPlay.setCards(firstToPlayCards);
+        lastToPlay.setCards(lastToPlayCards);
+
+        if (!hands.isEmpty()) currentHand().releaseLastIntel();
         final Hand hand = new Hand(firstToPlay, lastToPlay, vira);
         hands.add(hand);
     }
@@ -113,12 +135,12 @@ public class Game {
     }
 
     public List<Intel> getIntelSince(Instant lastIntelTimestamp) {
-        final List<Intel> wholeHistory = hands.stream()
-                .flatMap(hand -> hand.getIntelHistory().stream()).collect(Collectors.toList());
-        if (isDone()) wholeHistory.add(Intel.ofGame(this));
-        if (lastIntelTimestamp == null) return wholeHistory;
-        final Predicate<Intel> isAfter = intel -> intel.timestamp().isAfter(lastIntelTimestamp);
-        return wholeHistory.stream().filter(isAfter).collect(Collectors.toList());
+        final List<Intel> history = hands.stream()
+                .flatMap(hand -> hand.getIntelSince(lastIntelTimestamp).stream()).collect(Collectors.toList());
+        final Intel gameIntel = isDone() ? Intel.ofGame(this) : null;
+        if (gameIntel != null && (lastIntelTimestamp == null || gameIntel.timestamp().isAfter(lastIntelTimestamp)))
+            history.add(gameIntel);
+        return history;
     }
 
     public UUID getUuid() {
@@ -129,6 +151,11 @@ public class Game {
         return timestamp;
     }
 
+    // Version of the stored game this game has been read from, which the repository checks before writing it back.
+    public long getVersion() {
+        return version;
+    }
+
     public Player getFirstToPlay() {
         return firstToPlay;
     }
@@ -25,9 +25,11 @@ import com.bueno.domain.entities.game.GameRuleViolationException;
 import com.bueno.domain.entities.hand.states.*;
 import com.bueno.domain.entities.intel.Event;
 import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.intel.IntelHistory;
 import com.bueno.domain.entities.intel.PossibleAction;
 import com.bueno.domain.entities.player.Player;
 
+import java.time.Instant;
 import java.util.*;
 
 public class Hand {
@@ -36,7 +38,7 @@ public class Hand {
     private final List<Card> dealtCards;
     private final List<Card> openCards;
     private final List<Round> roundsPlayed;
-    private final List<Intel> history;
+    private final IntelHistory history;
     private EnumSet<PossibleAction> possibleActions;
 
     private Player firstToPlay;
@@ -62,7 +64,7 @@ public class Hand {
         this.dealtCards = new ArrayList<>(dealtCards);
         this.openCards = new ArrayList<>(openCards);
         this.roundsPlayed = new ArrayList<>(roundsPlayed);
-        this.history = new ArrayList<>(history);
+        this.history = new IntelHistory(history);
         this.possibleActions = EnumSet.copyOf(possibleActions);
         this.firstToPlay = firstToPlay;
         this.lastToPlay = lastToPlay;
@@ -100,7 +102,7 @@ public class Hand {
         points = HandPoints.ONE;
         roundsPlayed = new ArrayList<>();
         openCards = new ArrayList<>();
-        history = new ArrayList<>();
+        history = new IntelHistory();
 
         addOpenCard(vira);
 
@@ -254,7 +256,7 @@ public class Hand {
     }
 
     public Intel getLastIntel(){
-        return history.get(history.size() - 1);
+        return history.last();
     }
 
     public Player getOpponentOf(Player player){
@@ -306,7 +308,15 @@ public class Hand {
     }
 
     public List<Intel> getIntelHistory(){
-        return List.copyOf(history);
+        return history.toList();
+    }
+
+    public List<Intel> getIntelSince(Instant timestamp){
+        return history.since(timestamp);
+    }
+
+    public void releaseLastIntel(){
+        history.release();
     }
 
     public Player getLastBetRaiser() {
@@ -0,0 +1,368 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.intel;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.CardCodec;
+import com.bueno.domain.entities.intel.Intel.PlayerIntel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+// Intel history of a hand. Only the last intel is kept as an object: every intel added to the history is stored as a
+// delta record of the previous one, with the time since the previous intel, a bitmask of the fields that have changed
+// and the new values of these fields. Cards are stored as their CardCodec codes, and strings and UUIDs as indexes of
+// the values already seen in the hand. Older intel objects are rebuilt by replaying the deltas, only when they are
+// requested. The last intel is kept until the history is released, what finished hands do when the game moves to the
+// next one. A history restored from a list of intel, as hands read from a repository are, keeps that list as it is and
+// only encodes the intel added afterwards, so converting a hand from and to its DTO does not encode the whole history.
+public class IntelHistory {
+
+    private static final int NULL_CARD = CardCodec.NUMBER_OF_CODES;
+    private static final Intel emptyIntel = new Intel(Instant.EPOCH, false, null, false, null, null, List.of(),
+            List.of(), 0, null, List.of(), null, null, 0, null, 0, null, null, List.of(), null, null, null, Set.of());
+    private static final List<IntelField<?>> intelFields = List.of(
+            new IntelField<>(Intel::isGameDone, Writer::bool, Reader::bool),
+            new IntelField<>(intel -> intel.gameWinner().orElse(null), Writer::interned, Reader::interned),
+            new IntelField<>(Intel::isMaoDeOnze, Writer::bool, Reader::bool),
+            new IntelField<>(Intel::handPoints, Writer::nullableInt, Reader::nullableInt),
+            new IntelField<>(intel -> intel.pointsProposal().orElse(null), Writer::nullableInt, Reader::nullableInt),
+            new IntelField<>(Intel::roundWinnersUsernames, Writer::optionals, Reader::optionals),
+            new IntelField<>(Intel::roundWinnersUuid, Writer::optionals, Reader::optionals),
+            new IntelField<>(Intel::roundsPlayed, Writer::varint, Reader::varint),
+            new IntelField<>(Intel::vira, Writer::card, Reader::card),
+            new IntelField<>(Intel::openCards, Writer::cards, Reader::cards),
+            new IntelField<>(intel -> intel.handWinner().orElse(null), Writer::interned, Reader::interned),
+            new IntelField<>(intel -> intel.currentPlayerUuid().orElse(null), Writer::interned, Reader::interned),
+            new IntelField<>(Intel::currentPlayerScore, Writer::varint, Reader::varint),
+            new IntelField<>(Intel::currentPlayerUsername, Writer::interned, Reader::interned),
+            new IntelField<>(Intel::currentOpponentScore, Writer::varint, Reader::varint),
+            new IntelField<>(Intel::currentOpponentUsername, Writer::interned, Reader::interned),
+            new IntelField<>(intel -> intel.cardToPlayAgainst().orElse(null), Writer::card, Reader::card),
+            // PlayerIntel equality ignores whether the player is a bot, so the players are compared field by field
+            new IntelField<>(Intel::players, Writer::players, Reader::players, IntelHistory::haveSameState),
+            new IntelField<>(intel -> intel.event().orElse(null), Writer::interned, Reader::interned),
+            new IntelField<>(intel -> intel.eventPlayerUuid().orElse(null), Writer::interned, Reader::interned),
+            new IntelField<>(intel -> intel.eventPlayerUsername().orElse(null), Writer::interned,
+                    Reader::interned),
+            new IntelField<>(Intel::possibleActions, Writer::strings, Reader::strings));
+
+    private final List<Intel> restored;
+    private final List<Object> interned = new ArrayList<>();
+    private final Writer writer = new Writer();
+    private byte[] deltas = new byte[64];
+    private int length;
+    private int size;
+    private Instant lastTimestamp = Instant.EPOCH;
+    private Intel last;
+
+    public IntelHistory() {
+        this(List.of());
+    }
+
+    public IntelHistory(List<Intel> history) {
+        restored = List.copyOf(history);
+        size = restored.size();
+        if (size > 0) {
+            last = restored.get(size - 1);
+            lastTimestamp = last.timestamp();
+        }
+    }
+
+    public void add(Intel intel) {
+        final Intel previous = size == 0 ? emptyIntel : last();
+        size++;
+
+        writer.zigzag(Duration.between(lastTimestamp, intel.timestamp()).toNanos());
+        long changedFields = 0;
+        for (int i = 0; i < intelFields.size(); i++)
+            if (intelFields.get(i).hasChanged(previous, intel)) changedFields |= 1L << i;
+        writer.varint(changedFields);
+        for (int i = 0; i < intelFields.size(); i++)
+            if ((changedFields & 1L << i) != 0) intelFields.get(i).write(writer, intel);
+
+        lastTimestamp = intel.timestamp();
+        last = intel;
+    }
+
+    public Intel last() {
+        if (size == 0) throw new IllegalStateException("Intel history is empty.");
+        if (last != null) return last;
+        if (size == restored.size()) return restored.get(size - 1);
+        final Reader reader = new Reader();
+        while (reader.hasNext()) reader.next();
+        return reader.previous;
+    }
+
+    // Drops the last intel object, which is rebuilt from the deltas if it is requested again.
+    public void release() {
+        last = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<Intel> toList() {
+        return since(null);
+    }
+
+    // Rebuilds the intel after the given timestamp, or the whole history if it is null.
+    public List<Intel> since(Instant timestamp) {
+        if (size == 0 || timestamp != null && !lastTimestamp.isAfter(timestamp)) return List.of();
+        final List<Intel> result = new ArrayList<>();
+        for (Intel intel : restored) if (timestamp == null || intel.timestamp().isAfter(timestamp)) result.add(intel);
+        final Reader reader = new Reader();
+        while (reader.hasNext()) {
+            final Intel intel = reader.next();
+            if (timestamp == null || intel.timestamp().isAfter(timestamp))
+                result.add(!reader.hasNext() && last != null ? last : intel);
+        }
+        return List.copyOf(result);
+    }
+
+    private static boolean haveSameState(List<PlayerIntel> players, List<PlayerIntel> others) {
+        if (players.size() != others.size()) return false;
+        for (int i = 0; i < players.size(); i++) {
+            final PlayerIntel player = players.get(i);
+            final PlayerIntel other = others.get(i);
+            final boolean isSame = Objects.equals(player.getUuid(), other.getUuid())
+                    && Objects.equals(player.getUsername(), other.getUsername())
+                    && player.getScore() == other.getScore() && player.isBot() == other.isBot()
+                    && player.getCards().equals(other.getCards());
+            if (!isSame) return false;
+        }
+        return true;
+    }
+
+    private final class Writer {
+        private void players(List<PlayerIntel> players) {
+            varint(players.size());
+            for (PlayerIntel player : players) {
+                interned(player.getUuid());
+                interned(player.getUsername());
+                varint(player.getScore());
+                bool(player.isBot());
+                cards(player.getCards());
+            }
+        }
+
+        private void cards(List<Card> cards) {
+            varint(cards.size());
+            cards.forEach(this::card);
+        }
+
+        private void card(Card card) {
+            write(card == null ? NULL_CARD : CardCodec.encode(card));
+        }
+
+        private void strings(Set<String> strings) {
+            varint(strings.size());
+            strings.forEach(this::interned);
+        }
+
+        private void optionals(List<? extends Optional<?>> values) {
+            varint(values.size());
+            values.forEach(value -> interned(value.orElse(null)));
+        }
+
+        // Writes 0 for null or the index plus one of the value among the strings and UUIDs seen in the hand.
+        private void interned(Object value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            int index = interned.indexOf(value);
+            if (index < 0) {
+                index = interned.size();
+                interned.add(value);
+            }
+            varint(index + 1L);
+        }
+
+        private void nullableInt(Integer value) {
+            varint(value == null ? 0 : value + 1L);
+        }
+
+        private void bool(boolean value) {
+            write(value ? 1 : 0);
+        }
+
+        private void zigzag(long value) {
+            varint(value << 1 ^ value >> 63);
+        }
+
+        private void varint(int value) {
+            varint((long) value);
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void write(int value) {
+            if (length == deltas.length) deltas = Arrays.copyOf(deltas, 2 * length);
+            deltas[length++] = (byte) value;
+        }
+    }
+
+    private record IntelField<T>(Function<Intel, T> getter, BiConsumer<Writer, T> writer,
+                                 Function<Reader, T> reader, BiPredicate<T, T> isSame) {
+        private IntelField(Function<Intel, T> getter, BiConsumer<Writer, T> writer, Function<Reader, T> reader) {
+            this(getter, writer, reader, Objects::equals);
+        }
+
+        private boolean hasChanged(Intel previous, Intel intel) {
+            return !isSame.test(getter.apply(previous), getter.apply(intel));
+        }
+
+        private void write(Writer output, Intel intel) {
+            writer.accept(output, getter.apply(intel));
+        }
+    }
+
+    // Replays the deltas from the last restored intel, or from the empty intel if the history has not been restored.
+    private final class Reader {
+        private Intel previous = restored.isEmpty() ? emptyIntel : restored.get(restored.size() - 1);
+        private int position;
+
+        private boolean hasNext() {
+            return position < length;
+        }
+
+        private Intel next() {
+            final Instant timestamp = previous.timestamp().plusNanos(zigzag());
+            final long changedFields = varlong();
+            final Object[] values = new Object[intelFields.size()];
+            for (int i = 0; i < intelFields.size(); i++) {
+                final IntelField<?> field = intelFields.get(i);
+                values[i] = (changedFields & 1L << i) != 0
+                        ? field.reader().apply(this)
+                        : field.getter().apply(previous);
+            }
+            previous = toIntel(timestamp, values);
+            return previous;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Intel toIntel(Instant timestamp, Object[] values) {
+            return new Intel(timestamp, (boolean) values[0], (UUID) values[1], (boolean) values[2],
+                    (Integer) values[3], (Integer) values[4], (List<Optional<String>>) values[5],
+                    (List<Optional<UUID>>) values[6], (int) values[7], (Card) values[8], (List<Card>) values[9],
+                    (String) values[10], (UUID) values[11], (int) values[12], (String) values[13], (int) values[14],
+                    (String) values[15], (Card) values[16], (List<PlayerIntel>) values[17], (String) values[18],
+                    (UUID) values[19], (String) values[20], (Set<String>) values[21]);
+        }
+
+        private List<PlayerIntel> players() {
+            final int count = varint();
+            final List<PlayerIntel> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final UUID uuid = interned();
+                final String username = interned();
+                final int score = varint();
+                final boolean isBot = bool();
+                players.add(new PlayerIntel(username, uuid, score, isBot, cards()));
+            }
+            return List.copyOf(players);
+        }
+
+        private List<Card> cards() {
+            final int count = varint();
+            final List<Card> cards = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) cards.add(card());
+            return List.copyOf(cards);
+        }
+
+        private Card card() {
+            final int code = read();
+            return code == NULL_CARD ? null : CardCodec.decode(code);
+        }
+
+        private Set<String> strings() {
+            final int count = varint();
+            final List<String> strings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) strings.add(interned());
+            return Set.copyOf(strings);
+        }
+
+        private <T> List<Optional<T>> optionals() {
+            final int count = varint();
+            final List<Optional<T>> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) values.add(Optional.ofNullable(interned()));
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T interned() {
+            final int index = varint();
+            return index == 0 ? null : (T) interned.get(index - 1);
+        }
+
+        private Integer nullableInt() {
+            final long value = varlong();
+            return value == 0 ? null : (int) value - 1;
+        }
+
+        private boolean bool() {
+            return read() != 0;
+        }
+
+        private int varint() {
+            return (int) varlong();
+        }
+
+        private long zigzag() {
+            final long value = varlong();
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        private long varlong() {
+            long value = 0;
+            int shift = 0;
+            int current;
+            do {
+                current = read();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private int read() {
+            return deltas[position++] & 0xFF;
+        }
+    }
+}
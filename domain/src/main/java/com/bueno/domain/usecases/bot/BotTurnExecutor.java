@@ -0,0 +1,146 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.usecases.bot.dtos.BotTurnStatsDto;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Plays bot turns on a fixed pool of threads, so the threads applying the player actions return as soon as the action
+// is saved. Turns wait in a bounded queue. When the queue is full, or the executor is closed, the turn is rejected and
+// played by the caller itself, which slows the callers down instead of leaving a game waiting for a bot forever.
+// For the same reason, a turn that fails is played again after a growing delay, and if it fails every attempt, its
+// give up action is run instead.
+public class BotTurnExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(BotTurnExecutor.class.getName());
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Duration retryDelay;
+    private final LongAdder completedTurns = new LongAdder();
+    private final LongAdder rejectedTurns = new LongAdder();
+    private final LongAdder retriedTurns = new LongAdder();
+    private final LongAdder failedTurns = new LongAdder();
+
+    public BotTurnExecutor(int threads, int queueCapacity) {
+        this(threads, queueCapacity, Duration.ofMillis(500));
+    }
+
+    public BotTurnExecutor(int threads, int queueCapacity, Duration retryDelay) {
+        if (threads < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException("Number of threads and queue capacity must be positive.");
+        this.retryDelay = Objects.requireNonNull(retryDelay);
+        final AtomicInteger threadCount = new AtomicInteger();
+        final RejectedExecutionHandler playOnCaller = (turn, unused) -> {
+            rejectedTurns.increment();
+            turn.run();
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    final Thread thread = new Thread(runnable, "bot-turn-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, playOnCaller);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "bot-turn-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void execute(Runnable turn) {
+        execute(turn, () -> {});
+    }
+
+    public void execute(Runnable turn, Runnable giveUp) {
+        execute(Objects.requireNonNull(turn), Objects.requireNonNull(giveUp), 1);
+    }
+
+    private void execute(Runnable turn, Runnable giveUp, int attempt) {
+        executor.execute(() -> {
+            try {
+                turn.run();
+                completedTurns.increment();
+            } catch (RuntimeException e) {
+                if (attempt < MAX_ATTEMPTS && retry(turn, giveUp, attempt + 1)) {
+                    LOGGER.log(Level.WARNING, "Could not play bot turn, trying again.", e);
+                    return;
+                }
+                failedTurns.increment();
+                LOGGER.log(Level.WARNING, "Could not play bot turn, giving up.", e);
+                runGiveUp(giveUp);
+            }
+        });
+    }
+
+    // Returns false if the turn can not be retried because the executor is closed.
+    private boolean retry(Runnable turn, Runnable giveUp, int attempt) {
+        try {
+            retryScheduler.schedule(() -> execute(turn, giveUp, attempt),
+                    retryDelay.toMillis() * (attempt - 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        retriedTurns.increment();
+        return true;
+    }
+
+    private static void runGiveUp(Runnable giveUp) {
+        try {
+            giveUp.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Could not give up bot turn.", e);
+        }
+    }
+
+    public BotTurnStatsDto stats() {
+        return new BotTurnStatsDto(executor.getQueue().size(), executor.getActiveCount(),
+                completedTurns.sum(), rejectedTurns.sum(), retriedTurns.sum(), failedTurns.sum());
+    }
+
+    // Pending retries are still played before the executor stops.
+    @Override
+    public void close() {
+        retryScheduler.shutdown();
+        try {
+            retryScheduler.awaitTermination(10, TimeUnit.SECONDS);
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdown();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
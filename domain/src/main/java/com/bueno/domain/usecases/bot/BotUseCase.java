@@ -23,12 +23,16 @@ package com.bueno.domain.usecases.bot;
 import com.bueno.domain.entities.game.Game;
 import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.handlers.BotDecisionChain;
 import com.bueno.domain.usecases.bot.handlers.CardPlayingHandler;
 import com.bueno.domain.usecases.bot.handlers.MaoDeOnzeHandler;
 import com.bueno.domain.usecases.bot.handlers.RaiseHandler;
 import com.bueno.domain.usecases.bot.handlers.RaiseRequestHandler;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.service.GameCommandMailbox;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.usecase.RemoveGameUseCase;
 import com.bueno.domain.usecases.hand.HandResultRepository;
 import com.bueno.domain.usecases.hand.PlayCardUseCase;
 import com.bueno.domain.usecases.hand.PointsProposalUseCase;
@@ -37,17 +41,21 @@ import com.bueno.spi.service.BotServiceManager;
 import com.bueno.spi.service.BotServiceProvider;
 
 import java.util.Objects;
-
-import static com.bueno.domain.usecases.intel.converters.IntelConverter.fromDto;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BotUseCase {
     private final GameRepository gameRepo;
     private final GameResultRepository gameResultRepo;
-    private final HandResultRepository handResultRepo;
-    private MaoDeOnzeHandler maoDeOnzeHandler;
-    private RaiseHandler raiseHandler;
-    private CardPlayingHandler cardHandler;
-    private RaiseRequestHandler requestHandler;
+    private final PlayCardUseCase cardUseCase;
+    private final PointsProposalUseCase pointsUseCase;
+    private final MaoDeOnzeHandler maoDeOnzeHandler;
+    private final RaiseHandler raiseHandler;
+    private final CardPlayingHandler cardHandler;
+    private final RaiseRequestHandler requestHandler;
+    private final BotTurnExecutor turnExecutor;
+    private final GameCommandMailbox mailbox;
 
     public BotUseCase(GameRepository gameRepo) {
         this(gameRepo, null, null, null, null, null, null);
@@ -57,41 +65,104 @@ public class BotUseCase {
         this(gameRepo, gameResultRepo, handResultRepo, null, null, null, null);
     }
 
+    //Use a null turnExecutor to play the bot turns on the thread that applies the player action, and a null mailbox if
+    //the game commands are not serialized.
+    public BotUseCase(GameRepository gameRepo, GameResultRepository gameResultRepo, HandResultRepository handResultRepo,
+                      BotTurnExecutor turnExecutor, GameCommandMailbox mailbox) {
+        this(gameRepo, gameResultRepo, handResultRepo, null, null, null, null, turnExecutor, mailbox);
+    }
+
     BotUseCase(GameRepository gameRepo, GameResultRepository gameResultRepo,
                HandResultRepository handResultRepo, MaoDeOnzeHandler maoDeOnze,
                RaiseHandler raise, CardPlayingHandler card, RaiseRequestHandler request){
+        this(gameRepo, gameResultRepo, handResultRepo, maoDeOnze, raise, card, request, null, null);
+    }
+
+    private BotUseCase(GameRepository gameRepo, GameResultRepository gameResultRepo,
+                       HandResultRepository handResultRepo, MaoDeOnzeHandler maoDeOnze,
+                       RaiseHandler raise, CardPlayingHandler card, RaiseRequestHandler request,
+                       BotTurnExecutor turnExecutor, GameCommandMailbox mailbox){
         this.gameRepo = Objects.requireNonNull(gameRepo);
         this.gameResultRepo = gameResultRepo;
-        this.handResultRepo = handResultRepo;
+        this.cardUseCase = new PlayCardUseCase(gameRepo, gameResultRepo, handResultRepo, (BotUseCase) null);
+        this.pointsUseCase = new PointsProposalUseCase(gameRepo, gameResultRepo, handResultRepo, (BotUseCase) null);
         this.maoDeOnzeHandler = maoDeOnze;
         this.raiseHandler = raise;
         this.cardHandler = card;
         this.requestHandler = request;
+        this.turnExecutor = turnExecutor;
+        this.mailbox = mailbox;
     }
 
-    public Intel playWhenNecessary(Game game) {
-        final Player currentPlayer = game.currentHand().getCurrentPlayer();
-        final Intel intel = game.getIntel();
+    // Plays the bot turns that follow a player action, in the background if there is a turn executor. The saved game is
+    // not changed until the bot plays, because only the bot can act on it. Background turns go through the game
+    // mailbox, like the player commands. A failed turn is played again from the game as it has been saved, since the
+    // failure may have happened after some of the bot moves, and the bot forfeits the game if it fails every attempt.
+    public void respondTo(Game game) {
+        if (turnExecutor == null) {
+            playWhenNecessary(game);
+            return;
+        }
+        final Player bot = game.currentHand().getCurrentPlayer();
+        if (!isBotTurn(bot, game.getIntel())) return;
+        final AtomicReference<Game> unplayedGame = new AtomicReference<>(game);
+        turnExecutor.execute(
+                () -> inMailbox(game.getUuid(), () -> {
+                    final Game firstAttempt = unplayedGame.getAndSet(null);
+                    if (firstAttempt != null) playWhenNecessary(firstAttempt);
+                    else findGameOf(bot).ifPresent(this::playWhenNecessary);
+                }),
+                () -> inMailbox(game.getUuid(), () -> forfeit(bot)));
+    }
 
-        if (!isBotTurn(currentPlayer, intel)) return intel;
+    private void inMailbox(UUID gameUuid, Runnable command) {
+        if (mailbox == null) {
+            command.run();
+            return;
+        }
+        mailbox.execute(gameUuid, () -> {
+            command.run();
+            return null;
+        });
+    }
 
-        initializeNullHandlers(BotServiceManager.load(currentPlayer.getUsername()));
+    // The bot loses the game as a player who leaves it waiting does, instead of keeping its opponent waiting until the
+    // game is removed for inactivity.
+    private void forfeit(Player bot) {
+        final Optional<Game> game = findGameOf(bot);
+        if (game.isEmpty() || !isBotTurn(game.get().currentHand().getCurrentPlayer(), game.get().getIntel())) return;
+        if (gameResultRepo == null) gameRepo.delete(game.get().getUuid());
+        else new RemoveGameUseCase(gameRepo, gameResultRepo).byUserUuid(bot.getUuid());
+    }
 
-        if (maoDeOnzeHandler.shouldHandle(intel))
-            return fromDto(maoDeOnzeHandler.handle(intel, currentPlayer));
+    private Optional<Game> findGameOf(Player bot) {
+        return gameRepo.findByPlayerUuid(bot.getUuid()).map(GameConverter::fromDto);
+    }
 
-        if (raiseHandler.shouldHandle(intel)) {
-            final IntelDto dto = raiseHandler.handle(intel, currentPlayer);
-            if(dto != null ) return fromDto(dto);
-        }
+    public Intel playWhenNecessary(Game game) {
+        Player currentPlayer = game.currentHand().getCurrentPlayer();
+        Intel intel = game.getIntel();
 
-        if (cardHandler.shouldHandle(intel))
-            return fromDto(cardHandler.handle(intel, currentPlayer));
+        while (isBotTurn(currentPlayer, intel)) {
+            final IntelDto result = playTurn(intel, currentPlayer);
+            if (result == null) return null;
 
-        if (requestHandler.shouldHandle(intel))
-            return fromDto(requestHandler.handle(intel, currentPlayer));
+            final Game updatedGame = gameRepo.findByPlayerUuid(currentPlayer.getUuid())
+                    .map(GameConverter::fromDto).orElseThrow();
+            currentPlayer = updatedGame.currentHand().getCurrentPlayer();
+            intel = updatedGame.getIntel();
+        }
+        return intel;
+    }
+
+    private IntelDto playTurn(Intel intel, Player bot) {
+        final BotServiceProvider botService = BotServiceManager.load(bot.getUsername());
 
-        return null;
+        final var maoDeOnze = maoDeOnzeHandler != null ? maoDeOnzeHandler : new MaoDeOnzeHandler(pointsUseCase, botService);
+        final var raise = raiseHandler != null ? raiseHandler : new RaiseHandler(pointsUseCase, botService);
+        final var card = cardHandler != null ? cardHandler : new CardPlayingHandler(cardUseCase, botService);
+        final var request = requestHandler != null ? requestHandler : new RaiseRequestHandler(pointsUseCase, botService);
+        return new BotDecisionChain(maoDeOnze, raise, card, request).handle(intel, bot);
     }
 
     private boolean isBotTurn(Player handPlayer, Intel intel) {
@@ -99,23 +170,4 @@ public class BotUseCase {
         if (currentPlayerUUID.isEmpty() || intel.isGameDone() || !handPlayer.isBot()) return false;
         return handPlayer.getUuid().equals(currentPlayerUUID.get());
     }
-
-    private void initializeNullHandlers(BotServiceProvider botService) {
-        if (maoDeOnzeHandler == null)
-            maoDeOnzeHandler = new MaoDeOnzeHandler(
-                    new PointsProposalUseCase(gameRepo, gameResultRepo, handResultRepo),
-                    botService);
-        if (raiseHandler == null)
-            raiseHandler = new RaiseHandler(
-                    new PointsProposalUseCase(gameRepo, gameResultRepo, handResultRepo),
-                    botService);
-        if (cardHandler == null)
-            cardHandler = new CardPlayingHandler(
-                    new PlayCardUseCase(gameRepo, gameResultRepo, handResultRepo),
-                    botService);
-        if (requestHandler == null)
-            requestHandler = new RaiseRequestHandler(new PointsProposalUseCase(
-                    gameRepo, gameResultRepo, handResultRepo),
-                    botService);
-    }
 }
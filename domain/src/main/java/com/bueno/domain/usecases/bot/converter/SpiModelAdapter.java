@@ -21,8 +21,7 @@
 package com.bueno.domain.usecases.bot.converter;
 
 import com.bueno.domain.entities.deck.Card;
-import com.bueno.domain.entities.deck.Rank;
-import com.bueno.domain.entities.deck.Suit;
+import com.bueno.domain.entities.deck.CardCodec;
 import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.spi.model.CardRank;
@@ -31,26 +30,42 @@ import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.model.GameIntel.RoundResult;
 import com.bueno.spi.model.TrucoCard;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class SpiModelAdapter {
 
+    // Card codes and TrucoCard ordinals, mapped once by rank and suit symbols.
+    private static final TrucoCard[] trucoCardsByCode = new TrucoCard[CardCodec.NUMBER_OF_CODES];
+    private static final Card[] cardsByOrdinal = new Card[CardCodec.NUMBER_OF_CODES];
+
+    static {
+        for (int code = 0; code < CardCodec.NUMBER_OF_CODES; code++) {
+            final Card card = CardCodec.decode(code);
+            final TrucoCard trucoCard = TrucoCard.of(
+                    CardRank.ofSymbol(card.getRank().toString()), CardSuit.ofSymbol(card.getSuit().toString()));
+            trucoCardsByCode[code] = trucoCard;
+            cardsByOrdinal[trucoCard.ordinal()] = card;
+        }
+    }
+
     public static GameIntel toGameIntel(Player player, Intel intel) {
-        final Function<UUID, RoundResult> toRoundResult = uuid -> uuid == null ? RoundResult.DREW
-                : uuid.equals(player.getUuid()) ? RoundResult.WON : RoundResult.LOST;
+        final List<RoundResult> roundResults = new ArrayList<>(intel.roundWinnersUuid().size());
+        for (Optional<UUID> winner : intel.roundWinnersUuid()) roundResults.add(toRoundResult(player, winner));
 
-        final List<RoundResult> roundResults = intel.roundWinnersUuid().stream()
-                .map(winner -> winner.orElse(null))
-                .map(toRoundResult).collect(Collectors.toList());
+        final List<TrucoCard> openCards = new ArrayList<>(intel.openCards().size());
+        for (Card card : intel.openCards()) openCards.add(toTrucoCard(card));
 
-        final Function<List<Card>, List<TrucoCard>> toTrucoCardList = cardList ->
-                cardList.stream().map(SpiModelAdapter::toTrucoCard).collect(Collectors.toList());
+        return toGameIntel(player, intel, roundResults, openCards);
+    }
 
-        final List<TrucoCard> openCards = toTrucoCardList.apply(intel.openCards());
-        final List<TrucoCard> botCards = toTrucoCardList.apply(player.getCards());
+    private static GameIntel toGameIntel(Player player, Intel intel, List<RoundResult> roundResults,
+                                         List<TrucoCard> openCards) {
+        final List<TrucoCard> botCards = new ArrayList<>(player.getCards().size());
+        for (Card card : player.getCards()) botCards.add(toTrucoCard(card));
 
         return GameIntel.StepBuilder.with()
                 .gameInfo(roundResults, openCards, toTrucoCard(intel.vira()), intel.handPoints())
@@ -60,17 +75,48 @@ public class SpiModelAdapter {
                 .build();
     }
 
+    private static RoundResult toRoundResult(Player player, Optional<UUID> winner) {
+        if (winner.isEmpty()) return RoundResult.DREW;
+        return winner.get().equals(player.getUuid()) ? RoundResult.WON : RoundResult.LOST;
+    }
+
     public static Card toCard(TrucoCard card){
         if(card == null) return null;
-        final String rankName = card.getRank().toString();
-        final String suitName = card.getSuit().toString();
-        return Card.of(Rank.ofSymbol(rankName), Suit.ofSymbol(suitName));
+        return cardsByOrdinal[card.ordinal()];
     }
 
     private static TrucoCard toTrucoCard(Card card){
         if(card == null) return null;
-        final String rankName = card.getRank().toString();
-        final String suitName = card.getSuit().toString();
-        return TrucoCard.of(CardRank.ofSymbol(rankName), CardSuit.ofSymbol(suitName));
+        return trucoCardsByCode[CardCodec.encode(card)];
+    }
+
+    // Builds the GameIntel of a bot during a hand. Round results and open cards are only appended during a hand, so
+    // only the elements after the ones converted by the previous call are converted. The converted lists are immutable,
+    // so they are shared between GameIntel objects while they do not change. Use one builder per bot player, and call
+    // newHand before building the intel of the next hand.
+    public static final class IncrementalGameIntelBuilder {
+        private List<RoundResult> roundResults = List.of();
+        private List<TrucoCard> openCards = List.of();
+
+        public GameIntel build(Player player, Intel intel) {
+            roundResults = append(roundResults, intel.roundWinnersUuid(), winner -> toRoundResult(player, winner));
+            openCards = append(openCards, intel.openCards(), SpiModelAdapter::toTrucoCard);
+            return toGameIntel(player, intel, roundResults, openCards);
+        }
+
+        public void newHand() {
+            roundResults = List.of();
+            openCards = List.of();
+        }
+
+        // A source shorter than what has been converted can not be the same hand, so it is converted again from start.
+        private static <S, T> List<T> append(List<T> converted, List<S> source, Function<S, T> converter) {
+            if (source.size() == converted.size()) return converted;
+            final int from = source.size() > converted.size() ? converted.size() : 0;
+            final List<T> updated = new ArrayList<>(source.size());
+            updated.addAll(converted.subList(0, from));
+            for (int i = from; i < source.size(); i++) updated.add(converter.apply(source.get(i)));
+            return List.copyOf(updated);
+        }
     }
 }
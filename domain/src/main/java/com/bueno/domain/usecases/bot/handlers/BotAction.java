@@ -0,0 +1,45 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot.handlers;
+
+import com.bueno.domain.entities.deck.Card;
+
+import java.util.Objects;
+
+// What a bot has decided to do in its turn, before it is applied to the game.
+public record BotAction(Type type, Card card) {
+
+    public enum Type {ACCEPT, QUIT, RAISE, PLAY, DISCARD}
+
+    public BotAction {
+        Objects.requireNonNull(type);
+        if ((type == Type.PLAY || type == Type.DISCARD) != (card != null))
+            throw new IllegalArgumentException("Only card actions must have a card: " + type);
+    }
+
+    public static BotAction of(Type type) {
+        return new BotAction(type, null);
+    }
+
+    public static BotAction ofCard(Card card, boolean discard) {
+        return new BotAction(discard ? Type.DISCARD : Type.PLAY, card);
+    }
+}
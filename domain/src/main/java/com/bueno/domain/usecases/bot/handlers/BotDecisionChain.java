@@ -0,0 +1,67 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot.handlers;
+
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.List;
+import java.util.function.Function;
+
+// The order in which the bot handlers are asked to act: mao de onze first, then the decision to raise, then the card
+// to play and, at last, the response to a raise request. A handler that applies but decides not to act, as a bot that
+// does not want to raise, passes the turn to the next one. Both the bot use case, which applies the decisions through
+// the game use cases, and the simulation engine, which applies them to the hand itself, go through this chain.
+public class BotDecisionChain {
+
+    private final List<Handler> handlers;
+
+    public BotDecisionChain(MaoDeOnzeHandler maoDeOnze, RaiseHandler raise, CardPlayingHandler card,
+                            RaiseRequestHandler request) {
+        this.handlers = List.of(maoDeOnze, raise, card, request);
+    }
+
+    // Chain of handlers that only decide, for callers that apply the actions themselves.
+    public static BotDecisionChain of(BotServiceProvider botService) {
+        return new BotDecisionChain(new MaoDeOnzeHandler(null, botService), new RaiseHandler(null, botService),
+                new CardPlayingHandler(null, botService), new RaiseRequestHandler(null, botService));
+    }
+
+    public IntelDto handle(Intel intel, Player bot) {
+        return first(intel, handler -> handler.handle(intel, bot));
+    }
+
+    public BotAction decide(Intel intel, GameIntel gameIntel) {
+        return first(intel, handler -> handler.decide(intel, gameIntel));
+    }
+
+    private <T> T first(Intel intel, Function<Handler, T> step) {
+        for (Handler handler : handlers) {
+            if (!handler.shouldHandle(intel)) continue;
+            final T result = step.apply(handler);
+            if (result != null) return result;
+        }
+        return null;
+    }
+}
@@ -27,6 +27,7 @@ import com.bueno.domain.usecases.hand.PlayCardUseCase;
 import com.bueno.domain.usecases.hand.dtos.PlayCardDto;
 import com.bueno.domain.usecases.intel.converters.CardConverter;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.service.BotServiceProvider;
 
 import static com.bueno.domain.entities.intel.PossibleAction.PLAY;
@@ -46,14 +47,19 @@ public class CardPlayingHandler implements Handler{
     @Override
     public IntelDto handle(Intel intel, Player bot) {
         final var botUuid = bot.getUuid();
-        final var chosenCard = botService.chooseCard(toGameIntel(bot, intel));
-        final var card = toCard(chosenCard.content());
-        final var requestModel = new PlayCardDto(botUuid, CardConverter.toDto(card));
+        final var action = decide(intel, toGameIntel(bot, intel));
+        final var requestModel = new PlayCardDto(botUuid, CardConverter.toDto(action.card()));
 
-        if (chosenCard.isDiscard()) return cardUseCase.discard(requestModel);
+        if (action.type() == BotAction.Type.DISCARD) return cardUseCase.discard(requestModel);
         return cardUseCase.playCard(requestModel);
     }
 
+    @Override
+    public BotAction decide(Intel intel, GameIntel gameIntel) {
+        final var chosenCard = botService.chooseCard(gameIntel);
+        return BotAction.ofCard(toCard(chosenCard.content()), chosenCard.isDiscard());
+    }
+
     @Override
     public boolean shouldHandle(Intel intel) {
         return intel.possibleActions().stream()
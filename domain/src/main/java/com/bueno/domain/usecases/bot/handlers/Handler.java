@@ -23,8 +23,10 @@ package com.bueno.domain.usecases.bot.handlers;
 import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
 
 interface Handler {
     IntelDto handle(Intel intel, Player bot);
+    BotAction decide(Intel intel, GameIntel gameIntel);
     boolean shouldHandle(Intel intel);
 }
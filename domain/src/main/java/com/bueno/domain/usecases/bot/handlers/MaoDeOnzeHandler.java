@@ -25,6 +25,7 @@ import com.bueno.domain.entities.intel.Intel;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.hand.PointsProposalUseCase;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.service.BotServiceProvider;
 
 import static com.bueno.domain.usecases.bot.converter.SpiModelAdapter.toGameIntel;
@@ -42,11 +43,17 @@ public class MaoDeOnzeHandler implements Handler {
     @Override
     public IntelDto handle(Intel intel, Player bot) {
         final var botUuid = bot.getUuid();
-        final var hasAccepted = botService.getMaoDeOnzeResponse(toGameIntel(bot, intel));
-        if (hasAccepted) return scoreUseCase.accept(botUuid);
+        final var action = decide(intel, toGameIntel(bot, intel));
+        if (action.type() == BotAction.Type.ACCEPT) return scoreUseCase.accept(botUuid);
         return scoreUseCase.quit(botUuid);
     }
 
+    @Override
+    public BotAction decide(Intel intel, GameIntel gameIntel) {
+        final var hasAccepted = botService.getMaoDeOnzeResponse(gameIntel);
+        return BotAction.of(hasAccepted ? BotAction.Type.ACCEPT : BotAction.Type.QUIT);
+    }
+
     @Override
     public boolean shouldHandle(Intel intel) {
         final var hasNotDecided = HandPoints.fromIntValue(intel.handPoints()) == HandPoints.ONE;
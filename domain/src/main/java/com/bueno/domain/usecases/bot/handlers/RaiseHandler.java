@@ -25,6 +25,7 @@ import com.bueno.domain.entities.intel.PossibleAction;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.hand.PointsProposalUseCase;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.service.BotServiceProvider;
 
 import java.util.EnumSet;
@@ -45,11 +46,18 @@ public class RaiseHandler implements Handler {
     }
 
     public IntelDto handle(Intel intel, Player bot){
-        final boolean wantToRaise = botService.decideIfRaises(toGameIntel(bot, intel));
-        if (wantToRaise) return scoreUseCase.raise(bot.getUuid());
+        final BotAction action = decide(intel, toGameIntel(bot, intel));
+        if (action != null) return scoreUseCase.raise(bot.getUuid());
         return null;
     }
 
+    // Returns null if the bot does not want to raise, so it goes on to play a card.
+    @Override
+    public BotAction decide(Intel intel, GameIntel gameIntel) {
+        final boolean wantToRaise = botService.decideIfRaises(gameIntel);
+        return wantToRaise ? BotAction.of(BotAction.Type.RAISE) : null;
+    }
+
     @Override
     public boolean shouldHandle(Intel intel){
         final var actions = intel.possibleActions().stream()
@@ -25,6 +25,7 @@ import com.bueno.domain.entities.intel.PossibleAction;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.hand.PointsProposalUseCase;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import com.bueno.spi.model.GameIntel;
 import com.bueno.spi.service.BotServiceProvider;
 
 import java.util.EnumSet;
@@ -45,19 +46,28 @@ public class RaiseRequestHandler implements Handler{
     @Override
     public IntelDto handle(Intel intel, Player bot) {
         final var botUuid = bot.getUuid();
+        return switch (decide(intel, toGameIntel(bot, intel)).type()) {
+            case QUIT -> scoreUseCase.quit(botUuid);
+            case ACCEPT -> scoreUseCase.accept(botUuid);
+            case RAISE -> scoreUseCase.raise(botUuid);
+            default -> null;
+        };
+    }
+
+    @Override
+    public BotAction decide(Intel intel, GameIntel gameIntel) {
         final var actions = intel.possibleActions().stream()
                 .map(PossibleAction::valueOf)
                 .collect(Collectors.toCollection(() -> EnumSet.noneOf(PossibleAction.class)));
 
-        var response = botService.getRaiseResponse(toGameIntel(bot, intel));
+        var response = botService.getRaiseResponse(gameIntel);
         if(isInvalid(response)) throw new IllegalStateException("response must be -1, 0, 1 but was: " + response);
         if(hasAlreadyReachedHandPointsLimit(actions, response)) response = 0;
 
         return switch (response) {
-            case -1 -> scoreUseCase.quit(botUuid);
-            case 0 -> scoreUseCase.accept(botUuid);
-            case 1 -> scoreUseCase.raise(botUuid);
-            default -> null;
+            case -1 -> BotAction.of(BotAction.Type.QUIT);
+            case 1 -> BotAction.of(BotAction.Type.RAISE);
+            default -> BotAction.of(BotAction.Type.ACCEPT);
         };
     }
 
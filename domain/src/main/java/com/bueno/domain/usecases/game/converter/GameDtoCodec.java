@@ -0,0 +1,545 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.converter;
+
+import com.bueno.domain.entities.deck.CardCodec;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.hand.dtos.RoundDto;
+import com.bueno.domain.usecases.intel.converters.CardConverter;
+import com.bueno.domain.usecases.intel.dtos.CardDto;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+// Versioned binary format of games. Cards are single bytes with their CardCodec codes, numbers are varints, and
+// strings and UUIDs are interned per game: the first occurrence is written in full and the next ones as its index.
+// Players in hands and rounds are written as UUIDs and resolved against the players of the game, as the game
+// repository does. Each intel is written as a delta record of the previous one in the game: the time since the
+// previous intel, a bitmask of the fields that have changed and the new values of these fields.
+public class GameDtoCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int NULL_CARD = CardCodec.NUMBER_OF_CODES;
+    private static final CardDto[] cards = new CardDto[CardCodec.NUMBER_OF_CODES];
+    // Codes indexed by the rank and suit symbols, which are single ASCII characters
+    private static final int[][] cardCodes = new int[128][128];
+    private static final IntelDto emptyIntel = new IntelDto(Instant.EPOCH, false, null, false, null, null, List.of(),
+            List.of(), 0, null, List.of(), null, null, 0, null, 0, null, null, List.of(), null, null, null, Set.of());
+    private static final List<IntelField<?>> intelFields = List.of(
+            new IntelField<>(IntelDto::isGameDone, Writer::bool, Reader::bool),
+            new IntelField<>(IntelDto::gameWinner, Writer::uuid, Reader::uuid),
+            new IntelField<>(IntelDto::isMaoDeOnze, Writer::bool, Reader::bool),
+            new IntelField<>(IntelDto::handPoints, Writer::nullableInt, Reader::nullableInt),
+            new IntelField<>(IntelDto::handPointsProposal, Writer::nullableInt, Reader::nullableInt),
+            new IntelField<>(IntelDto::roundWinnersUsernames, Writer::optionalStrings, Reader::optionalStrings),
+            new IntelField<>(IntelDto::roundWinnersUuid, Writer::optionalUuids, Reader::optionalUuids),
+            new IntelField<>(IntelDto::roundsPlayed, Writer::varint, Reader::varint),
+            new IntelField<>(IntelDto::vira, Writer::card, Reader::card),
+            new IntelField<>(IntelDto::openCards, Writer::cards, Reader::cards),
+            new IntelField<>(IntelDto::handWinner, Writer::string, Reader::string),
+            new IntelField<>(IntelDto::currentPlayerUuid, Writer::uuid, Reader::uuid),
+            new IntelField<>(IntelDto::currentPlayerScore, Writer::varint, Reader::varint),
+            new IntelField<>(IntelDto::currentPlayerUsername, Writer::string, Reader::string),
+            new IntelField<>(IntelDto::currentOpponentScore, Writer::varint, Reader::varint),
+            new IntelField<>(IntelDto::currentOpponentUsername, Writer::string, Reader::string),
+            new IntelField<>(IntelDto::cardToPlayAgainst, Writer::card, Reader::card),
+            // PlayerDto equals only compares UUIDs, so the players are compared by all of their fields
+            new IntelField<>(IntelDto::players, Writer::players, Reader::players, GameDtoCodec::haveSameState),
+            new IntelField<>(IntelDto::event, Writer::string, Reader::string),
+            new IntelField<>(IntelDto::eventPlayerUuid, Writer::uuid, Reader::uuid),
+            new IntelField<>(IntelDto::eventPlayerUsername, Writer::string, Reader::string),
+            new IntelField<>(IntelDto::possibleActions, Writer::strings, Reader::strings));
+
+    static {
+        for (int code = 0; code < cards.length; code++) {
+            cards[code] = CardConverter.toDto(CardCodec.decode(code));
+            cardCodes[cards[code].rank().charAt(0)][cards[code].suit().charAt(0)] = code;
+        }
+    }
+
+    private GameDtoCodec() {
+    }
+
+    public static byte[] encode(GameDto game) {
+        Objects.requireNonNull(game, "Game must not be null.");
+        final Writer writer = new Writer();
+        writer.varint(VERSION);
+        writer.uuid(game.gameUuid());
+        writer.dateTime(game.timestamp());
+        writer.player(game.player1());
+        writer.player(game.player2());
+        writer.uuidOf(game.firstToPlay());
+        writer.uuidOf(game.lastToPlay());
+        writer.varint(game.hands().size());
+        game.hands().forEach(writer::hand);
+        return writer.toByteArray();
+    }
+
+    public static GameDto decode(byte[] bytes) {
+        Objects.requireNonNull(bytes, "Bytes must not be null.");
+        final Reader reader = new Reader(bytes);
+        final int version = reader.varint();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported game format version: " + version);
+        final UUID gameUuid = reader.uuid();
+        final LocalDateTime timestamp = reader.dateTime();
+        final PlayerDto player1 = reader.player();
+        final PlayerDto player2 = reader.player();
+        reader.gamePlayers.put(player2.uuid(), player2);
+        reader.gamePlayers.put(player1.uuid(), player1);
+        final PlayerDto firstToPlay = reader.gamePlayer();
+        final PlayerDto lastToPlay = reader.gamePlayer();
+        final List<HandDto> hands = reader.list(Reader::hand);
+        if (!reader.isAtEnd()) throw new IllegalArgumentException("Unexpected bytes after the end of the game.");
+        // Versions are kept by the repositories, not in the encoded game
+        return new GameDto(gameUuid, timestamp, player1, player2, firstToPlay, lastToPlay, hands, 0);
+    }
+
+    // Writes the game preceded by its length, so that many games can be written to the same stream.
+    public static void writeTo(GameDto game, OutputStream outputStream) throws IOException {
+        final byte[] bytes = encode(game);
+        final DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        output.flush();
+    }
+
+    public static GameDto readFrom(InputStream inputStream) throws IOException {
+        final DataInputStream input = new DataInputStream(inputStream);
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return decode(bytes);
+    }
+
+    private static boolean haveSameState(List<PlayerDto> players, List<PlayerDto> others) {
+        if (players.size() != others.size()) return false;
+        for (int i = 0; i < players.size(); i++) {
+            final PlayerDto player = players.get(i);
+            final PlayerDto other = others.get(i);
+            final boolean isSame = player.uuid().equals(other.uuid()) && player.username().equals(other.username())
+                    && player.score() == other.score() && player.isBot() == other.isBot()
+                    && player.cards().equals(other.cards());
+            if (!isSame) return false;
+        }
+        return true;
+    }
+
+    private record IntelField<T>(Function<IntelDto, T> getter, BiConsumer<Writer, T> writer,
+                                 Function<Reader, T> reader, BiPredicate<T, T> isSame) {
+        private IntelField(Function<IntelDto, T> getter, BiConsumer<Writer, T> writer, Function<Reader, T> reader) {
+            this(getter, writer, reader, Objects::equals);
+        }
+
+        private boolean hasChanged(IntelDto previous, IntelDto intel) {
+            return !isSame.test(getter.apply(previous), getter.apply(intel));
+        }
+
+        private void write(Writer output, IntelDto intel) {
+            writer.accept(output, getter.apply(intel));
+        }
+    }
+
+    private static final class Writer {
+        private byte[] bytes = new byte[1024];
+        private int size;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<UUID, Integer> uuids = new HashMap<>();
+        private IntelDto previousIntel = emptyIntel;
+
+        private void hand(HandDto hand) {
+            card(hand.vira());
+            cards(hand.dealtCards());
+            cards(hand.openCards());
+            varint(hand.roundsPlayed().size());
+            hand.roundsPlayed().forEach(this::round);
+            varint(hand.history().size());
+            hand.history().forEach(this::intel);
+            strings(hand.possibleActions());
+            uuidOf(hand.firstToPlay());
+            uuidOf(hand.lastToPlay());
+            uuidOf(hand.currentPlayer());
+            uuidOf(hand.lastBetRaiser());
+            uuidOf(hand.eventPlayer());
+            card(hand.cartToPlayAgainst());
+            varint(hand.points());
+            varint(hand.pointsProposal());
+            uuidOf(hand.winner());
+            string(hand.state());
+        }
+
+        private void round(RoundDto round) {
+            uuidOf(round.firstToPlay());
+            uuidOf(round.lastToPlay());
+            uuidOf(round.winner());
+            card(round.vira());
+            card(round.firstCard());
+            card(round.lastCard());
+        }
+
+        private void intel(IntelDto intel) {
+            zigzag(Duration.between(previousIntel.timestamp(), intel.timestamp()).toNanos());
+            long changedFields = 0;
+            for (int i = 0; i < intelFields.size(); i++)
+                if (intelFields.get(i).hasChanged(previousIntel, intel)) changedFields |= 1L << i;
+            varint(changedFields);
+            for (int i = 0; i < intelFields.size(); i++)
+                if ((changedFields & 1L << i) != 0) intelFields.get(i).write(this, intel);
+            previousIntel = intel;
+        }
+
+        private void player(PlayerDto player) {
+            uuid(player.uuid());
+            string(player.username());
+            varint(player.score());
+            bool(player.isBot());
+            cards(player.cards());
+        }
+
+        private void players(List<PlayerDto> players) {
+            varint(players.size());
+            players.forEach(this::player);
+        }
+
+        private void uuidOf(PlayerDto player) {
+            uuid(player != null ? player.uuid() : null);
+        }
+
+        private void card(CardDto card) {
+            write(card != null ? cardCodes[card.rank().charAt(0)][card.suit().charAt(0)] : NULL_CARD);
+        }
+
+        private void cards(List<CardDto> cards) {
+            varint(cards.size());
+            cards.forEach(this::card);
+        }
+
+        private void string(String string) {
+            if (reference(strings, string)) return;
+            final byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            for (byte value : utf8) write(value);
+        }
+
+        private void strings(Set<String> strings) {
+            varint(strings.size());
+            strings.forEach(this::string);
+        }
+
+        private void optionalStrings(List<Optional<String>> strings) {
+            varint(strings.size());
+            strings.forEach(string -> string(string.orElse(null)));
+        }
+
+        private void uuid(UUID uuid) {
+            if (reference(uuids, uuid)) return;
+            fixed64(uuid.getMostSignificantBits());
+            fixed64(uuid.getLeastSignificantBits());
+        }
+
+        private void optionalUuids(List<Optional<UUID>> uuids) {
+            varint(uuids.size());
+            uuids.forEach(uuid -> uuid(uuid.orElse(null)));
+        }
+
+        // Writes 0 for null, the index plus one of a value already written, or the next index for a new value, which
+        // must then be written in full. Returns true if the value does not need to be written.
+        private <T> boolean reference(Map<T, Integer> interned, T value) {
+            if (value == null) {
+                varint(0);
+                return true;
+            }
+            final Integer index = interned.get(value);
+            if (index != null) {
+                varint(index + 1);
+                return true;
+            }
+            interned.put(value, interned.size());
+            varint(interned.size());
+            return false;
+        }
+
+        private void nullableInt(Integer value) {
+            if (value == null) varint(0);
+            else zigzagPlusOne(value);
+        }
+
+        private void zigzagPlusOne(int value) {
+            varint(((long) value << 1 ^ value >> 31) + 1);
+        }
+
+        private void bool(boolean value) {
+            write(value ? 1 : 0);
+        }
+
+        private void dateTime(LocalDateTime dateTime) {
+            final Instant instant = dateTime.toInstant(ZoneOffset.UTC);
+            zigzag(instant.getEpochSecond());
+            varint(instant.getNano());
+        }
+
+        private void varint(int value) {
+            varint(Integer.toUnsignedLong(value));
+        }
+
+        private void zigzag(long value) {
+            varint(value << 1 ^ value >> 63);
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void fixed64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) write((int) (value >>> shift));
+        }
+
+        private void write(int value) {
+            if (size == bytes.length) bytes = Arrays.copyOf(bytes, 2 * size);
+            bytes[size++] = (byte) value;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private final List<String> strings = new ArrayList<>();
+        private final List<UUID> uuids = new ArrayList<>();
+        private final Map<UUID, PlayerDto> gamePlayers = new HashMap<>();
+        private IntelDto previousIntel = emptyIntel;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private HandDto hand() {
+            final CardDto vira = card();
+            final List<CardDto> dealtCards = cards();
+            final List<CardDto> openCards = cards();
+            final List<RoundDto> rounds = list(Reader::round);
+            final List<IntelDto> history = list(Reader::intel);
+            final Set<String> possibleActions = strings();
+            final PlayerDto firstToPlay = gamePlayer();
+            final PlayerDto lastToPlay = gamePlayer();
+            final PlayerDto currentPlayer = gamePlayer();
+            final PlayerDto lastBetRaiser = gamePlayer();
+            final PlayerDto eventPlayer = gamePlayer();
+            final CardDto cardToPlayAgainst = card();
+            final int points = varint();
+            final int pointsProposal = varint();
+            final PlayerDto winner = gamePlayer();
+            final String state = string();
+            return new HandDto(vira, dealtCards, openCards, rounds, history, possibleActions, firstToPlay, lastToPlay,
+                    currentPlayer, lastBetRaiser, eventPlayer, cardToPlayAgainst, points, pointsProposal, winner, state);
+        }
+
+        private RoundDto round() {
+            return new RoundDto(gamePlayer(), gamePlayer(), gamePlayer(), card(), card(), card());
+        }
+
+        private IntelDto intel() {
+            final Instant timestamp = previousIntel.timestamp().plusNanos(zigzag());
+            final long changedFields = varlong();
+            final Object[] values = new Object[intelFields.size()];
+            for (int i = 0; i < intelFields.size(); i++) {
+                final IntelField<?> field = intelFields.get(i);
+                values[i] = (changedFields & 1L << i) != 0
+                        ? field.reader().apply(this)
+                        : field.getter().apply(previousIntel);
+            }
+            previousIntel = toIntel(timestamp, values);
+            return previousIntel;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static IntelDto toIntel(Instant timestamp, Object[] values) {
+            return new IntelDto(timestamp, (boolean) values[0], (UUID) values[1], (boolean) values[2],
+                    (Integer) values[3], (Integer) values[4], (List<Optional<String>>) values[5],
+                    (List<Optional<UUID>>) values[6], (int) values[7], (CardDto) values[8],
+                    (List<CardDto>) values[9], (String) values[10], (UUID) values[11], (int) values[12],
+                    (String) values[13], (int) values[14], (String) values[15], (CardDto) values[16],
+                    (List<PlayerDto>) values[17], (String) values[18], (UUID) values[19], (String) values[20],
+                    (Set<String>) values[21]);
+        }
+
+        private PlayerDto player() {
+            final UUID uuid = uuid();
+            final String username = string();
+            final int score = varint();
+            final boolean isBot = bool();
+            return new PlayerDto(username, uuid, score, isBot, cards());
+        }
+
+        private PlayerDto gamePlayer() {
+            final UUID uuid = uuid();
+            if (uuid == null) return null;
+            final PlayerDto player = gamePlayers.get(uuid);
+            if (player == null) throw new IllegalArgumentException("Player is not in the game: " + uuid);
+            return player;
+        }
+
+        private List<PlayerDto> players() {
+            return list(Reader::player);
+        }
+
+        private CardDto card() {
+            final int code = next();
+            if (code == NULL_CARD) return null;
+            if (code > NULL_CARD) throw new IllegalArgumentException("Invalid card code: " + code);
+            return cards[code];
+        }
+
+        private List<CardDto> cards() {
+            return list(Reader::card);
+        }
+
+        private String string() {
+            final int index = reference(strings);
+            if (index < 0) return null;
+            if (index < strings.size()) return strings.get(index);
+            final int length = varint();
+            if (length > bytes.length - position) throw new IllegalArgumentException("Game bytes ended unexpectedly.");
+            final String string = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(string);
+            return string;
+        }
+
+        private Set<String> strings() {
+            return new LinkedHashSet<>(list(Reader::string));
+        }
+
+        private List<Optional<String>> optionalStrings() {
+            return list(reader -> Optional.ofNullable(reader.string()));
+        }
+
+        private UUID uuid() {
+            final int index = reference(uuids);
+            if (index < 0) return null;
+            if (index < uuids.size()) return uuids.get(index);
+            final UUID uuid = new UUID(fixed64(), fixed64());
+            uuids.add(uuid);
+            return uuid;
+        }
+
+        private List<Optional<UUID>> optionalUuids() {
+            return list(reader -> Optional.ofNullable(reader.uuid()));
+        }
+
+        // Returns -1 for null, the index of a value already read, or the size of the interned values for a new value.
+        private int reference(List<?> interned) {
+            final int reference = varint();
+            if (reference > interned.size() + 1) throw new IllegalArgumentException("Invalid reference: " + reference);
+            return reference - 1;
+        }
+
+        private Integer nullableInt() {
+            final long value = varlong();
+            if (value == 0) return null;
+            final long zigzag = value - 1;
+            return (int) (zigzag >>> 1 ^ -(zigzag & 1));
+        }
+
+        private boolean bool() {
+            return next() != 0;
+        }
+
+        private LocalDateTime dateTime() {
+            return LocalDateTime.ofEpochSecond(zigzag(), varint(), ZoneOffset.UTC);
+        }
+
+        private <T> List<T> list(Function<Reader, T> element) {
+            final int size = varint();
+            final List<T> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) list.add(element.apply(this));
+            return Collections.unmodifiableList(list);
+        }
+
+        private int varint() {
+            return Math.toIntExact(varlong());
+        }
+
+        private long zigzag() {
+            final long value = varlong();
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        private long varlong() {
+            long value = 0;
+            int shift = 0;
+            int current;
+            do {
+                if (shift > 63) throw new IllegalArgumentException("Varint is too long.");
+                current = next();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private long fixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) value = value << 8 | next();
+            return value;
+        }
+
+        private int next() {
+            if (position >= bytes.length) throw new IllegalArgumentException("Game bytes ended unexpectedly.");
+            return bytes[position++] & 0xFF;
+        }
+
+        private boolean isAtEnd() {
+            return position == bytes.length;
+        }
+    }
+}
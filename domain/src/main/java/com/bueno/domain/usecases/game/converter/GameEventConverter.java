@@ -0,0 +1,326 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.converter;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.CardCodec;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.intel.Event;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.hand.dtos.RoundDto;
+import com.bueno.domain.usecases.intel.converters.CardConverter;
+import com.bueno.domain.usecases.intel.dtos.CardDto;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+// Converts the changes of a game into a compact log of move events and rebuilds the game by replaying them. Every
+// move adds exactly one intel entry to the current hand, so the events are read from the intel history. An event is
+// a header byte with the move and the player, followed by the card codes of deals and plays, and then by the time
+// since the previous event in zigzag varint nanoseconds, which is used to restore the timestamps of the intel.
+// A new hand is a deal of its 7 cards. Scoring a hand before dealing the next one is implied by the deal, so only
+// the scoring of the last hand of a game is an event of its own.
+public class GameEventConverter {
+
+    static final int DEAL = 0;
+    static final int PLAY = 1;
+    static final int DISCARD = 2;
+    static final int RAISE = 3;
+    static final int ACCEPT = 4;
+    static final int QUIT = 5;
+    static final int SCORE = 6;
+
+    private static final int MOVE_MASK = 0x07;
+    private static final int PLAYER_2 = 0x08;
+
+    private GameEventConverter(){}
+
+    // Position of a game in its event log: the number of hands, the number of intel entries of the last hand and
+    // whether the scores have already been updated with the result of the last hand.
+    public record Position(int hands, int lastHandHistory, boolean lastHandScored) {
+
+        public static Position of(GameDto game) {
+            final List<HandDto> hands = game.hands();
+            if (hands.isEmpty()) return new Position(0, 0, false);
+            return new Position(hands.size(), last(hands).history().size(), isLastHandScored(game));
+        }
+
+        public boolean isBehindOrAt(GameDto game) {
+            final List<HandDto> hands = game.hands();
+            if (hands.size() < this.hands) return false;
+            return this.hands == 0 || hands.get(this.hands - 1).history().size() >= lastHandHistory;
+        }
+    }
+
+    // Returns the events that take the game from the given position to its current state.
+    public static byte[] toEvents(GameDto game, Position from) {
+        final List<HandDto> hands = game.hands();
+        final Writer writer = new Writer(game, lastTimestamp(hands, from));
+
+        for (int handIndex = Math.max(0, from.hands() - 1); handIndex < hands.size(); handIndex++) {
+            final HandDto hand = hands.get(handIndex);
+            final List<IntelDto> history = hand.history();
+            final boolean isNewHand = handIndex >= from.hands();
+            if (isNewHand) writer.deal(hand);
+
+            for (int intelIndex = isNewHand ? 1 : from.lastHandHistory(); intelIndex < history.size(); intelIndex++)
+                writer.move(history.get(intelIndex - 1), history.get(intelIndex));
+        }
+
+        final boolean isScoringNewlyStored = hands.size() > from.hands() || !from.lastHandScored();
+        if (!hands.isEmpty() && isLastHandScored(game) && isScoringNewlyStored) writer.score();
+        return writer.toByteArray();
+    }
+
+    // Rebuilds the game by replaying the batches of events on top of the snapshot.
+    public static GameDto replay(GameDto snapshot, List<byte[]> batches) {
+        if (batches.stream().allMatch(batch -> batch.length == 0)) return snapshot;
+
+        final Game game = GameConverter.fromDto(snapshot);
+        final Position start = Position.of(snapshot);
+        final Replayer replayer = new Replayer(game, start.lastHandScored(), lastTimestamp(snapshot.hands(), start));
+        batches.forEach(replayer::replay);
+        return restampHistory(GameConverter.toDto(game), start, replayer.timestamps.iterator());
+    }
+
+    private static boolean isLastHandScored(GameDto game) {
+        final HandDto hand = last(game.hands());
+        if (hand.winner() == null) return false;
+        final PlayerDto winner = hand.winner().uuid().equals(game.player1().uuid()) ? game.player1() : game.player2();
+        final int scoreBeforeResult = last(hand.history()).players().stream()
+                .filter(winner::equals)
+                .mapToInt(PlayerDto::score)
+                .findFirst().orElseThrow();
+        return winner.score() != scoreBeforeResult;
+    }
+
+    private static Instant lastTimestamp(List<HandDto> hands, Position position) {
+        if (position.hands() == 0 || position.lastHandHistory() == 0) return Instant.EPOCH;
+        return hands.get(position.hands() - 1).history().get(position.lastHandHistory() - 1).timestamp();
+    }
+
+    // Replayed moves get new timestamps, so their intel entries are rebuilt with the recorded ones, and with their
+    // players resolved by uuid against the game players, as they are when loaded from the game repository.
+    private static GameDto restampHistory(GameDto game, Position start, Iterator<Instant> timestamps) {
+        final Map<UUID, PlayerDto> players = new HashMap<>();
+        players.put(game.player2().uuid(), game.player2());
+        players.put(game.player1().uuid(), game.player1());
+        final UnaryOperator<PlayerDto> resolve = player -> player != null ? players.get(player.uuid()) : null;
+        final List<HandDto> hands = new ArrayList<>(game.hands());
+        for (int handIndex = 0; handIndex < hands.size(); handIndex++) {
+            final HandDto hand = hands.get(handIndex);
+            final List<IntelDto> history = new ArrayList<>(hand.history());
+            final int firstReplayed = handIndex == start.hands() - 1 ? start.lastHandHistory() : 0;
+            if (handIndex >= start.hands() - 1) {
+                for (int intelIndex = firstReplayed; intelIndex < history.size(); intelIndex++)
+                    history.set(intelIndex, withTimestamp(history.get(intelIndex), timestamps.next()));
+            }
+            hands.set(handIndex, withHistory(hand, List.copyOf(history), resolve));
+        }
+        return new GameDto(game.gameUuid(), game.timestamp(), game.player1(), game.player2(),
+                resolve.apply(game.firstToPlay()), resolve.apply(game.lastToPlay()), List.copyOf(hands),
+                game.version());
+    }
+
+    private static HandDto withHistory(HandDto hand, List<IntelDto> history, UnaryOperator<PlayerDto> resolve) {
+        final List<RoundDto> rounds = hand.roundsPlayed().stream()
+                .map(round -> new RoundDto(resolve.apply(round.firstToPlay()), resolve.apply(round.lastToPlay()),
+                        resolve.apply(round.winner()), round.vira(), round.firstCard(), round.lastCard()))
+                .toList();
+        return new HandDto(hand.vira(), hand.dealtCards(), hand.openCards(), rounds, history,
+                hand.possibleActions(), resolve.apply(hand.firstToPlay()), resolve.apply(hand.lastToPlay()),
+                resolve.apply(hand.currentPlayer()), resolve.apply(hand.lastBetRaiser()),
+                resolve.apply(hand.eventPlayer()), hand.cartToPlayAgainst(), hand.points(),
+                hand.pointsProposal(), resolve.apply(hand.winner()), hand.state());
+    }
+
+    private static IntelDto withTimestamp(IntelDto intel, Instant timestamp) {
+        return new IntelDto(timestamp, intel.isGameDone(), intel.gameWinner(), intel.isMaoDeOnze(),
+                intel.handPoints(), intel.handPointsProposal(), intel.roundWinnersUsernames(),
+                intel.roundWinnersUuid(), intel.roundsPlayed(), intel.vira(), intel.openCards(), intel.handWinner(),
+                intel.currentPlayerUuid(), intel.currentPlayerScore(), intel.currentPlayerUsername(),
+                intel.currentOpponentScore(), intel.currentOpponentUsername(), intel.cardToPlayAgainst(),
+                intel.players(), intel.event(), intel.eventPlayerUuid(), intel.eventPlayerUsername(),
+                intel.possibleActions());
+    }
+
+    private static <T> T last(List<T> list) {
+        return list.get(list.size() - 1);
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final GameDto game;
+        private Instant lastTimestamp;
+
+        private Writer(GameDto game, Instant lastTimestamp) {
+            this.game = game;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        private void deal(HandDto hand) {
+            bytes.write(DEAL);
+            hand.dealtCards().forEach(card -> bytes.write(encode(card)));
+            timestamp(hand.history().get(0).timestamp());
+        }
+
+        private void move(IntelDto previous, IntelDto intel) {
+            final int player = intel.eventPlayerUuid().equals(game.player1().uuid()) ? 0 : PLAYER_2;
+            switch (Event.valueOf(intel.event())) {
+                case PLAY -> play(player, previous, intel);
+                case RAISE -> bytes.write(RAISE | player);
+                case ACCEPT, ACCEPT_HAND -> bytes.write(ACCEPT | player);
+                case QUIT, QUIT_HAND -> bytes.write(QUIT | player);
+                default -> throw new IllegalStateException("Event is not a move: " + intel.event());
+            }
+            timestamp(intel.timestamp());
+        }
+
+        // The played card is the one that left the hand of the player, which is closed in the open cards if discarded.
+        private void play(int player, IntelDto previous, IntelDto intel) {
+            final List<CardDto> cardsBefore = new ArrayList<>(cardsOf(previous, intel.eventPlayerUuid()));
+            cardsBefore.removeAll(cardsOf(intel, intel.eventPlayerUuid()));
+            if (cardsBefore.size() != 1) throw new IllegalStateException("Can not find played card in: " + intel);
+            final boolean isDiscard = last(intel.openCards()).equals(CardDto.closed());
+            bytes.write((isDiscard ? DISCARD : PLAY) | player);
+            bytes.write(encode(cardsBefore.get(0)));
+        }
+
+        private List<CardDto> cardsOf(IntelDto intel, UUID playerUuid) {
+            return intel.players().stream()
+                    .filter(player -> player.uuid().equals(playerUuid))
+                    .findFirst().orElseThrow().cards();
+        }
+
+        private void score() {
+            bytes.write(SCORE);
+        }
+
+        private void timestamp(Instant timestamp) {
+            final long delta = Duration.between(lastTimestamp, timestamp).toNanos();
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                bytes.write((int) (zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            bytes.write((int) zigzag);
+            lastTimestamp = timestamp;
+        }
+
+        private static int encode(CardDto card) {
+            return CardCodec.encode(CardConverter.fromDto(card));
+        }
+
+        private byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Replayer {
+        private final Game game;
+        private final List<Instant> timestamps = new ArrayList<>();
+        private boolean lastHandScored;
+        private Instant lastTimestamp;
+        private byte[] batch;
+        private int position;
+
+        private Replayer(Game game, boolean lastHandScored, Instant lastTimestamp) {
+            this.game = game;
+            this.lastHandScored = lastHandScored;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        private void replay(byte[] batch) {
+            this.batch = batch;
+            this.position = 0;
+            while (position < batch.length) {
+                final int header = next();
+                final Player player = (header & PLAYER_2) == 0 ? game.getPlayer1() : game.getPlayer2();
+                final Hand hand = game.currentHand();
+                switch (header & MOVE_MASK) {
+                    case DEAL -> deal();
+                    case PLAY -> play(hand, player, player.play(nextCard()));
+                    case DISCARD -> play(hand, player, player.discard(nextCard()));
+                    case RAISE -> hand.raise(player);
+                    case ACCEPT -> hand.accept(player);
+                    case QUIT -> hand.quit(player);
+                    case SCORE -> score();
+                    default -> throw new IllegalStateException("Unknown game event: " + header);
+                }
+                if ((header & MOVE_MASK) != SCORE) timestamps.add(nextTimestamp());
+            }
+        }
+
+        private void deal() {
+            final List<Card> dealtCards = new ArrayList<>(7);
+            for (int i = 0; i < 7; i++) dealtCards.add(nextCard());
+            if (!lastHandScored) game.updateScores();
+            game.prepareNewHand(dealtCards);
+            lastHandScored = false;
+        }
+
+        private void play(Hand hand, Player player, Card card) {
+            if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(player, card);
+            else hand.playSecondCard(player, card);
+        }
+
+        private void score() {
+            game.updateScores();
+            lastHandScored = true;
+        }
+
+        private Card nextCard() {
+            return CardCodec.decode(next());
+        }
+
+        private Instant nextTimestamp() {
+            long zigzag = 0;
+            int shift = 0;
+            int current;
+            do {
+                current = next();
+                zigzag |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            final long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+            lastTimestamp = lastTimestamp.plusNanos(delta);
+            return lastTimestamp;
+        }
+
+        private int next() {
+            if (position >= batch.length) throw new IllegalStateException("Game event batch ended unexpectedly.");
+            return batch[position++] & 0xFF;
+        }
+    }
+}
@@ -20,12 +20,22 @@
 
 package com.bueno.domain.usecases.game.dtos;
 
+import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.hand.dtos.HandDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+// The version is the one of the stored game this game has been read from, or 0 for a game that has not been stored.
 public record GameDto(UUID gameUuid, LocalDateTime timestamp, PlayerDto player1, PlayerDto player2,
-                      PlayerDto firstToPlay, PlayerDto lastToPlay, List<HandDto> hands) {
+                      PlayerDto firstToPlay, PlayerDto lastToPlay, List<HandDto> hands, long version) {
+
+    public GameDto withVersion(long version) {
+        return new GameDto(gameUuid, timestamp, player1, player2, firstToPlay, lastToPlay, hands, version);
+    }
+
+    public boolean isDone() {
+        return player1.score() == Player.MAX_SCORE || player2.score() == Player.MAX_SCORE;
+    }
 }
\ No newline at end of file
@@ -21,5 +21,6 @@
 package com.bueno.domain.usecases.game.dtos;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
-public record GameResultUsernamesDto (LocalDateTime endingTime, String player1, String player2, String winner){ }
+public record GameResultUsernamesDto (UUID gameUuid, LocalDateTime endingTime, String player1, String player2, String winner){ }
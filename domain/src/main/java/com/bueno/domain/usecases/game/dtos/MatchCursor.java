@@ -0,0 +1,58 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+// Position of a match in a user record, ordered by ending time and then by game UUID, both descending. It is sent
+// to clients as an opaque string, which they send back to get the matches that come after it.
+public record MatchCursor(LocalDateTime endingTime, UUID gameUuid) {
+
+    public MatchCursor {
+        Objects.requireNonNull(endingTime, "Ending time must not be null.");
+        Objects.requireNonNull(gameUuid, "Game UUID must not be null.");
+    }
+
+    public static MatchCursor of(GameResultUsernamesDto match) {
+        return new MatchCursor(match.endingTime(), match.gameUuid());
+    }
+
+    public String encode() {
+        final String cursor = endingTime + "|" + gameUuid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String encoded) {
+        try {
+            final String cursor = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            final int separator = cursor.indexOf('|');
+            return new MatchCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    UUID.fromString(cursor.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid match cursor: " + encoded, e);
+        }
+    }
+}
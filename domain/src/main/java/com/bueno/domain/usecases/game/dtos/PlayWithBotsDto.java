@@ -24,9 +24,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 
-public record PlayWithBotsDto(UUID uuid, String name) {
-    public PlayWithBotsDto(UUID uuid, String name) {
+public record PlayWithBotsDto(UUID uuid, String name, long seed) {
+    public PlayWithBotsDto(UUID uuid, String name, long seed) {
         this.uuid = Objects.requireNonNull(uuid);
         this.name = Objects.requireNonNull(name);
+        this.seed = seed;
     }
 }
@@ -23,4 +23,5 @@ package com.bueno.domain.usecases.game.dtos;
 import java.util.List;
 import java.util.UUID;
 
-public record UserRecordDto(UUID userUuid, String username, List<GameResultUsernamesDto> record) {}
+public record UserRecordDto(UUID userUuid, String username, List<GameResultUsernamesDto> record,
+                            String nextCursor) {}
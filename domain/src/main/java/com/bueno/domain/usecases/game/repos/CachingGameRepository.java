@@ -0,0 +1,272 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.repos;
+
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Keeps active games in memory, indexed by player UUID, in front of a persistent GameRepository. New and deleted
+// games are written through. Updates only mark the game as dirty: dirty games are flushed by a background thread
+// after the flush delay, or right away when a hand or the game ends. If the dirty queue is full, the caller flushes
+// the game itself. A game that fails to flush stays dirty and is flushed again after the next flush delay, unless it is
+// stale, which means that another writer has replaced it and the updates not flushed yet are lost, so unless writing
+// through, nothing else may write to the delegate. Games that are neither dirty nor accessed during the idle
+// timeout are evicted from memory. Cached games change version with every update, and a flush stores the game with
+// its cached version, so a game read again from the delegate goes on from the versions already handed out.
+// In write-through mode, used when other instances write to the same persistent repository, updates are written to the
+// delegate before replacing the cached game, and a game rejected as stale is evicted so that it is read again.
+public class CachingGameRepository implements GameRepository, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(CachingGameRepository.class.getName());
+
+    private final GameRepository delegate;
+    private final Duration idleTimeout;
+    private final Map<UUID, CachedGame> games = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> gameUuidByPlayer = new ConcurrentHashMap<>();
+    private final BlockingQueue<UUID> dirtyGames;
+    private final Set<UUID> failedGames = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final boolean writeThrough;
+
+    public CachingGameRepository(GameRepository delegate, Duration flushDelay, int maxDirtyGames, Duration idleTimeout) {
+        this(delegate, flushDelay, maxDirtyGames, idleTimeout, false);
+    }
+
+    public CachingGameRepository(GameRepository delegate, Duration flushDelay, int maxDirtyGames, Duration idleTimeout,
+                                 boolean writeThrough) {
+        this.writeThrough = writeThrough;
+        this.delegate = Objects.requireNonNull(delegate);
+        this.idleTimeout = Objects.requireNonNull(idleTimeout);
+        this.dirtyGames = new ArrayBlockingQueue<>(maxDirtyGames);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "game-cache-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long delay = flushDelay.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushDirtyGames, delay, delay, TimeUnit.MILLISECONDS);
+        final long evictionPeriod = Math.max(1, idleTimeout.toMillis() / 2);
+        flusher.scheduleWithFixedDelay(this::evictIdleGames, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void save(GameDto gameDto) {
+        delegate.save(gameDto);
+        cache(gameDto);
+    }
+
+    @Override
+    public void update(GameDto gameDto, long storedVersion) {
+        if (writeThrough) {
+            updateThrough(gameDto, storedVersion);
+            return;
+        }
+        final CachedGame cached = games.get(gameDto.gameUuid());
+        final GameDto previous = cached == null ? null : cached.replace(gameDto, storedVersion);
+        if (previous == null) {
+            delegate.update(gameDto, storedVersion);
+            cache(gameDto);
+            return;
+        }
+        if (cached.dirty.compareAndSet(false, true) && !dirtyGames.offer(gameDto.gameUuid())) flush(gameDto.gameUuid());
+        else if (endsHandOrGame(previous, gameDto)) flushLater();
+    }
+
+    private void updateThrough(GameDto gameDto, long storedVersion) {
+        final UUID gameUuid = gameDto.gameUuid();
+        try {
+            delegate.update(gameDto, storedVersion);
+        } catch (StaleGameException e) {
+            final CachedGame cached = games.get(gameUuid);
+            if (cached != null) remove(gameUuid, cached);
+            throw e;
+        }
+        cache(gameDto);
+    }
+
+    private void flushLater() {
+        try {
+            flusher.execute(this::flushDirtyGames);
+        } catch (RejectedExecutionException e) {
+            flushDirtyGames();
+        }
+    }
+
+    private boolean endsHandOrGame(GameDto previous, GameDto current) {
+        if (previous.hands().size() != current.hands().size()) return true;
+        final List<HandDto> hands = current.hands();
+        return !hands.isEmpty() && hands.get(hands.size() - 1).winner() != null;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        final CachedGame cached = games.get(uuid);
+        if (cached != null) remove(uuid, cached);
+        delegate.delete(uuid);
+    }
+
+    @Override
+    public Optional<GameDto> findByPlayerUuid(UUID playerUuid) {
+        final UUID uuid = Objects.requireNonNull(playerUuid, "User UUID must not be null.");
+        final UUID gameUuid = gameUuidByPlayer.get(uuid);
+        final CachedGame cached = gameUuid == null ? null : games.get(gameUuid);
+        if (cached != null) {
+            cached.lastAccess = System.nanoTime();
+            return Optional.of(cached.game);
+        }
+        final Optional<GameDto> game = delegate.findByPlayerUuid(uuid);
+        game.ifPresent(this::cache);
+        return game;
+    }
+
+    // Games that are not cached are only looked up, not loaded, as the caller does not need them.
+    @Override
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        final UUID uuid = Objects.requireNonNull(playerUuid, "User UUID must not be null.");
+        final UUID gameUuid = gameUuidByPlayer.get(uuid);
+        final CachedGame cached = gameUuid == null ? null : games.get(gameUuid);
+        if (cached == null) return delegate.findVersionByPlayerUuid(uuid);
+        cached.lastAccess = System.nanoTime();
+        return Optional.of(new GameVersionDto(gameUuid, cached.game.version()));
+    }
+
+    // Inactivity is computed by the persistent repository, so the pending changes are flushed before asking it.
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        flushDirtyGames();
+        return delegate.findAllInactiveAfter(minutes);
+    }
+
+    public void flushDirtyGames() {
+        final List<UUID> retries = List.copyOf(failedGames);
+        failedGames.removeAll(retries);
+        retries.forEach(this::flush);
+        UUID gameUuid;
+        while ((gameUuid = dirtyGames.poll()) != null) flush(gameUuid);
+    }
+
+    // Flushes of the same game are serialized, so that an older state is never written after a newer one.
+    private void flush(UUID gameUuid) {
+        final CachedGame cached = games.get(gameUuid);
+        if (cached == null) return;
+        synchronized (cached.flushLock) {
+            if (!cached.dirty.compareAndSet(true, false)) return;
+            final GameDto game = cached.game;
+            try {
+                delegate.update(game, cached.storedVersion);
+                cached.storedVersion = game.version();
+            } catch (StaleGameException e) {
+                LOGGER.log(Level.SEVERE, "Game " + gameUuid + " has been replaced by another writer, losing "
+                        + (game.version() - cached.storedVersion) + " updates. Removing it from cache.", e);
+                remove(gameUuid, cached);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not flush game " + gameUuid + ", it will be flushed again.", e);
+                cached.dirty.set(true);
+                failedGames.add(gameUuid);
+            }
+        }
+    }
+
+    private void evictIdleGames() {
+        final long now = System.nanoTime();
+        games.forEach((uuid, cached) -> {
+            synchronized (cached) {
+                if (!cached.dirty.get() && now - cached.lastAccess > idleTimeout.toNanos()) remove(uuid, cached);
+            }
+        });
+    }
+
+    private void remove(UUID gameUuid, CachedGame cached) {
+        synchronized (cached) {
+            cached.removed = true;
+            games.remove(gameUuid, cached);
+            unindex(cached.game);
+        }
+    }
+
+    private void cache(GameDto game) {
+        games.put(game.gameUuid(), new CachedGame(game));
+        gameUuidByPlayer.put(game.player1().uuid(), game.gameUuid());
+        gameUuidByPlayer.put(game.player2().uuid(), game.gameUuid());
+    }
+
+    private void unindex(GameDto game) {
+        gameUuidByPlayer.remove(game.player1().uuid(), game.gameUuid());
+        gameUuidByPlayer.remove(game.player2().uuid(), game.gameUuid());
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDirtyGames();
+    }
+
+    private static final class CachedGame {
+        private volatile GameDto game;
+        private volatile long storedVersion;
+        private volatile long lastAccess = System.nanoTime();
+        private volatile boolean removed;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final Object flushLock = new Object();
+
+        private CachedGame(GameDto game) {
+            this.game = game;
+            this.storedVersion = game.version();
+        }
+
+        // Returns the replaced game, or null if this entry has already been removed from the cache.
+        private synchronized GameDto replace(GameDto updated, long storedVersion) {
+            if (removed) return null;
+            final GameDto previous = game;
+            if (previous.version() != storedVersion)
+                throw new StaleGameException("Game has been updated since it was read: " + updated.gameUuid());
+            game = updated;
+            lastAccess = System.nanoTime();
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.repos;
+
+import com.bueno.domain.usecases.game.converter.GameEventConverter;
+import com.bueno.domain.usecases.game.converter.GameEventConverter.Position;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.utils.exceptions.EntityNotFoundException;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Stores games as an append-only log of move events, plus a snapshot of the whole game every few hands, which replaces
+// the events before it. An update only appends the events since the game was last written or loaded by this
+// repository, and a game is loaded by replaying the events after its latest snapshot. Every batch is appended with the
+// version of the game it comes from, so an update whose game has been read before the last batch is rejected as stale,
+// as is one that does not follow the stored state of the game. Finished games are not marked, since they are not
+// updated anymore and may never be deleted.
+public class EventSourcedGameRepository implements GameRepository {
+
+    private final GameEventStore store;
+    private final int snapshotEveryHands;
+    private final Map<UUID, Mark> marks = new ConcurrentHashMap<>();
+
+    public EventSourcedGameRepository(GameEventStore store, int snapshotEveryHands) {
+        if (snapshotEveryHands < 1) throw new IllegalArgumentException("Hands between snapshots must be positive.");
+        this.store = Objects.requireNonNull(store);
+        this.snapshotEveryHands = snapshotEveryHands;
+    }
+
+    @Override
+    public void save(GameDto gameDto) {
+        store.create(gameDto);
+        marks.put(gameDto.gameUuid(), new Mark(Position.of(gameDto), gameDto.version()));
+    }
+
+    @Override
+    public void update(GameDto gameDto, long storedVersion) {
+        final UUID gameUuid = gameDto.gameUuid();
+        final Mark known = marks.get(gameUuid);
+        final Mark mark = known != null && known.version() == storedVersion ? known : load(gameUuid);
+        if (mark.version() != storedVersion || !mark.position().isBehindOrAt(gameDto) || !append(gameDto, mark)) {
+            marks.remove(gameUuid, mark);
+            throw new StaleGameException("Game has been updated since it was read: " + gameUuid);
+        }
+    }
+
+    // Updates without new moves are appended too, as every update is a new version of the game.
+    private boolean append(GameDto game, Mark mark) {
+        final boolean snapshot = game.hands().size() / snapshotEveryHands > mark.position().hands() / snapshotEveryHands;
+        final byte[] events = snapshot ? new byte[0] : GameEventConverter.toEvents(game, mark.position());
+        if (!store.append(game, mark.version(), events, snapshot)) return false;
+        if (game.isDone()) marks.remove(game.gameUuid());
+        else marks.put(game.gameUuid(), new Mark(Position.of(game), game.version()));
+        return true;
+    }
+
+    private Mark load(UUID gameUuid) {
+        final GameEventLogDto log = store.findByGameUuid(gameUuid)
+                .orElseThrow(() -> new EntityNotFoundException("Game not found: " + gameUuid));
+        return markOf(replay(log), log);
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        store.delete(uuid);
+        marks.remove(uuid);
+    }
+
+    @Override
+    public Optional<GameDto> findByPlayerUuid(UUID playerUuid) {
+        return store.findByPlayerUuid(playerUuid).map(log -> {
+            final GameDto game = replay(log);
+            markOf(game, log);
+            return game;
+        });
+    }
+
+    @Override
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        return store.findVersionByPlayerUuid(playerUuid);
+    }
+
+    private static GameDto replay(GameEventLogDto log) {
+        return GameEventConverter.replay(log.snapshot(), log.batches()).withVersion(log.version());
+    }
+
+    private Mark markOf(GameDto game, GameEventLogDto log) {
+        final Mark mark = new Mark(Position.of(game), log.version());
+        if (!game.isDone()) marks.put(game.gameUuid(), mark);
+        return mark;
+    }
+
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        return store.findAllInactiveAfter(minutes);
+    }
+
+    private record Mark(Position position, long version) {}
+}
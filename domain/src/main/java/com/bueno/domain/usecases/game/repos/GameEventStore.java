@@ -0,0 +1,47 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.repos;
+
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GameEventStore {
+    void create(GameDto game);
+
+    // Appends a batch of events to the log of the game if the log is still at the expected version, and sets the version
+    // of the log to the version of the given game. If snapshot is true, the given game replaces the snapshot and the
+    // batches of the log instead, since it already contains them. A batch without events only sets the version. Returns
+    // false if the log has changed meanwhile.
+    boolean append(GameDto game, long expectedVersion, byte[] events, boolean snapshot);
+
+    Optional<GameEventLogDto> findByGameUuid(UUID gameUuid);
+    Optional<GameEventLogDto> findByPlayerUuid(UUID playerUuid);
+    Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid);
+    void delete(UUID gameUuid);
+
+    // Returns the UUIDs of the players who have kept their games waiting for at least the given minutes.
+    Collection<UUID> findAllInactiveAfter(int minutes);
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.repos;
+
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class GameEventStoreInMemoryImpl implements GameEventStore {
+
+    private final Map<UUID, GameLog> logs = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void create(GameDto game) {
+        logs.put(game.gameUuid(), new GameLog(game, game.version(), List.of(), game));
+    }
+
+    @Override
+    public synchronized boolean append(GameDto game, long expectedVersion, byte[] events, boolean snapshot) {
+        final GameLog current = logs.get(game.gameUuid());
+        if (current == null || current.version() != expectedVersion) return false;
+        if (snapshot) {
+            logs.put(game.gameUuid(), new GameLog(game, game.version(), List.of(), game));
+            return true;
+        }
+        final List<byte[]> batches = new ArrayList<>(current.batches());
+        if (events.length > 0) batches.add(events.clone());
+        logs.put(game.gameUuid(), new GameLog(current.snapshot(), game.version(), List.copyOf(batches), game));
+        return true;
+    }
+
+    @Override
+    public Optional<GameEventLogDto> findByGameUuid(UUID gameUuid) {
+        return Optional.ofNullable(logs.get(gameUuid)).map(GameLog::toDto);
+    }
+
+    @Override
+    public Optional<GameEventLogDto> findByPlayerUuid(UUID playerUuid) {
+        return logs.values().stream()
+                .filter(log -> log.latest().player1().uuid().equals(playerUuid)
+                        || log.latest().player2().uuid().equals(playerUuid))
+                .findAny()
+                .map(GameLog::toDto);
+    }
+
+    @Override
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        return logs.values().stream()
+                .filter(log -> log.latest().player1().uuid().equals(playerUuid)
+                        || log.latest().player2().uuid().equals(playerUuid))
+                .findAny()
+                .map(log -> new GameVersionDto(log.latest().gameUuid(), log.version()));
+    }
+
+    @Override
+    public synchronized void delete(UUID gameUuid) {
+        logs.remove(gameUuid);
+    }
+
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        final Instant limit = Instant.now().minus(Duration.ofMinutes(minutes));
+        return logs.values().stream()
+                .map(GameLog::latest)
+                .filter(game -> !game.hands().isEmpty())
+                .map(game -> game.hands().get(game.hands().size() - 1))
+                .filter(hand -> !hand.history().isEmpty() && hand.currentPlayer() != null)
+                .filter(hand -> !lastActivityOf(hand).isAfter(limit))
+                .map(hand -> hand.currentPlayer().uuid())
+                .toList();
+    }
+
+    private static Instant lastActivityOf(HandDto hand) {
+        return hand.history().get(hand.history().size() - 1).timestamp();
+    }
+
+    // The latest game is kept only to look up players and activity, as the persistent stores do with their indexes.
+    private record GameLog(GameDto snapshot, long version, List<byte[]> batches, GameDto latest) {
+        private GameEventLogDto toDto() {
+            return new GameEventLogDto(snapshot, version, batches);
+        }
+    }
+}
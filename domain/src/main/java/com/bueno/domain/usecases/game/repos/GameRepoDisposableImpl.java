@@ -21,8 +21,10 @@
 package com.bueno.domain.usecases.game.repos;
 
 import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +42,11 @@ public class GameRepoDisposableImpl implements GameRepository {
         game = dto;
     }
 
+    @Override
+    public void update(GameDto dto, long storedVersion) {
+        game = dto;
+    }
+
     @Override
     public void delete(UUID uuid) {
         game = null;
@@ -51,7 +58,12 @@ public class GameRepoDisposableImpl implements GameRepository {
     }
 
     @Override
-    public Collection<GameDto> findAllInactiveAfter(int minutes) {
-        return null;
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        return Optional.ofNullable(game).map(dto -> new GameVersionDto(dto.gameUuid(), dto.version()));
+    }
+
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        return List.of();
     }
 }
@@ -21,6 +21,7 @@
 package com.bueno.domain.usecases.game.repos;
 
 import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -28,10 +29,23 @@ import java.util.UUID;
 
 public interface GameRepository {
     void save(GameDto gameDto);
-    void update(GameDto gameDto);
+    // Stores the game as the version after its own, if the stored game is still the version it has been read from.
+    // Throws StaleGameException otherwise, as the game has been written since it was read.
+    default void update(GameDto gameDto) {
+        update(gameDto.withVersion(gameDto.version() + 1), gameDto.version());
+    }
+
+    // Stores the game with its own version, if the stored game is still the given version. Lets a writer that holds
+    // several updates of a game store them at once while keeping the versions it has already handed out.
+    void update(GameDto gameDto, long storedVersion);
+
     void delete(UUID uuid);
     Optional<GameDto> findByPlayerUuid(UUID playerUuid);
 
-    Collection<GameDto> findAllInactiveAfter(int minutes);
+    // Finds only the UUID and the version of the game of the player, without reading the game itself.
+    Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid);
+
+    // Returns the UUIDs of the players who have kept their games waiting for at least the given minutes.
+    Collection<UUID> findAllInactiveAfter(int minutes);
 
 }
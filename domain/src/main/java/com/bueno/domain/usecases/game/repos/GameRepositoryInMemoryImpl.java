@@ -22,42 +22,106 @@ package com.bueno.domain.usecases.game.repos;
 
 
 import com.bueno.domain.usecases.game.dtos.GameDto;
-import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Keeps games in a concurrent map from game UUID, with a secondary index from player UUID to game UUID. Writes to the
+// same game are serialized by one of a fixed set of lock stripes, so the game and its index entries always change
+// together, while games in different stripes are written in parallel. Reads do not lock. The last activity and the
+// current player of each game are computed when the game is written, so inactivity checks do not walk the hands.
 public class GameRepositoryInMemoryImpl implements GameRepository {
 
-    private static final Map<UUID, GameDto> games = new HashMap<>();
+    private static final int DEFAULT_LOCK_STRIPES = 64;
+
+    private final Map<UUID, StoredGame> games = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> gameUuidByPlayer = new ConcurrentHashMap<>();
+    private final Object[] locks;
+
+    public GameRepositoryInMemoryImpl() {
+        this(DEFAULT_LOCK_STRIPES);
+    }
+
+    public GameRepositoryInMemoryImpl(int lockStripes) {
+        if (lockStripes < 1) throw new IllegalArgumentException("Number of lock stripes must be positive.");
+        locks = new Object[lockStripes];
+        Arrays.setAll(locks, unused -> new Object());
+    }
 
     @Override
     public void save(GameDto game) {
-        games.put(game.gameUuid(), game);
+        synchronized (lockOf(game.gameUuid())) {
+            final StoredGame previous = games.put(game.gameUuid(), StoredGame.of(game));
+            if (previous != null) unindex(previous.game());
+            gameUuidByPlayer.put(game.player1().uuid(), game.gameUuid());
+            gameUuidByPlayer.put(game.player2().uuid(), game.gameUuid());
+        }
     }
 
     @Override
-    public void update(GameDto gameDto) {
-        games.replace(gameDto.gameUuid(), gameDto);
+    public void update(GameDto gameDto, long storedVersion) {
+        synchronized (lockOf(gameDto.gameUuid())) {
+            final StoredGame stored = games.get(gameDto.gameUuid());
+            if (stored == null) return;
+            if (stored.game().version() != storedVersion)
+                throw new StaleGameException("Game has been updated since it was read: " + gameDto.gameUuid());
+            games.put(gameDto.gameUuid(), StoredGame.of(gameDto));
+        }
     }
 
     @Override
     public void delete(UUID uuid) {
-        games.remove(uuid);
+        synchronized (lockOf(uuid)) {
+            final StoredGame removed = games.remove(uuid);
+            if (removed != null) unindex(removed.game());
+        }
     }
 
     @Override
     public Optional<GameDto> findByPlayerUuid(UUID uuid) {
-        Predicate<GameDto> hasPlayer = game -> hasUuid(game.player1(), uuid) || hasUuid(game.player2(), uuid);
-        return games.values().stream().filter(hasPlayer).findAny();
+        final UUID gameUuid = gameUuidByPlayer.get(uuid);
+        if (gameUuid == null) return Optional.empty();
+        return Optional.ofNullable(games.get(gameUuid)).map(StoredGame::game);
+    }
+
+    @Override
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID uuid) {
+        return findByPlayerUuid(uuid).map(game -> new GameVersionDto(game.gameUuid(), game.version()));
     }
 
     @Override
-    public Collection<GameDto> findAllInactiveAfter(int minutes) {
-        return null;
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        final Instant limit = Instant.now().minus(Duration.ofMinutes(minutes));
+        final List<UUID> inactivePlayers = new ArrayList<>();
+        for (StoredGame stored : games.values()) {
+            if (stored.currentPlayerUuid() != null && !stored.lastActivity().isAfter(limit))
+                inactivePlayers.add(stored.currentPlayerUuid());
+        }
+        return inactivePlayers;
+    }
+
+    private Object lockOf(UUID gameUuid) {
+        return locks[Math.floorMod(gameUuid.hashCode(), locks.length)];
+    }
+
+    private void unindex(GameDto game) {
+        gameUuidByPlayer.remove(game.player1().uuid(), game.gameUuid());
+        gameUuidByPlayer.remove(game.player2().uuid(), game.gameUuid());
     }
 
-    private static boolean hasUuid(PlayerDto player, UUID uuid) {
-        return player.uuid().equals(uuid);
+    // The current player is only set for games waiting for a player whose hand has some history.
+    private record StoredGame(GameDto game, Instant lastActivity, UUID currentPlayerUuid) {
+        private static StoredGame of(GameDto game) {
+            if (game.hands().isEmpty()) return new StoredGame(game, null, null);
+            final HandDto hand = game.hands().get(game.hands().size() - 1);
+            if (hand.history().isEmpty() || hand.currentPlayer() == null) return new StoredGame(game, null, null);
+            final Instant lastActivity = hand.history().get(hand.history().size() - 1).timestamp();
+            return new StoredGame(game, lastActivity, hand.currentPlayer().uuid());
+        }
     }
 }
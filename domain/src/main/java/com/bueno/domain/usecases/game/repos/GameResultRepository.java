@@ -22,7 +22,9 @@ package com.bueno.domain.usecases.game.repos;
 
 import com.bueno.domain.usecases.game.dtos.GameResultDto;
 import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import com.bueno.domain.usecases.game.dtos.MatchCursor;
 import com.bueno.domain.usecases.game.dtos.PlayerWinsDto;
+import com.bueno.domain.usecases.game.dtos.UserWinsDto;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,6 +34,9 @@ public interface GameResultRepository {
 
     List<PlayerWinsDto> findTopWinners(Integer maxNumberOfUsers);
 
-    List<GameResultUsernamesDto> findAllByUserUuid(UUID uuid);
+    List<UserWinsDto> findWinsOfAllUsers();
+
+    // Returns up to limit matches of the user, most recent first, starting after the cursor if it is not null.
+    List<GameResultUsernamesDto> findPageByUserUuid(UUID uuid, MatchCursor after, int limit);
 
 }
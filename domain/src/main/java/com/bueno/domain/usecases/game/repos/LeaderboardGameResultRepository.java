@@ -0,0 +1,125 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.repos;
+
+import com.bueno.domain.usecases.game.dtos.GameResultDto;
+import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import com.bueno.domain.usecases.game.dtos.MatchCursor;
+import com.bueno.domain.usecases.game.dtos.PlayerWinsDto;
+import com.bueno.domain.usecases.game.dtos.UserWinsDto;
+import com.bueno.domain.usecases.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps the number of wins of every registered user in memory, in front of a persistent GameResultRepository. The
+// wins are loaded in a single grouped query, and then updated on every saved result. Users are indexed by UUID and kept
+// sorted by wins, so the top winners are read without querying the game results again. Winners that are not
+// registered users, like bots, are not ranked. The wins are loaded again on refresh, to take in the results saved by
+// other instances and the usernames changed since. Saves wait for a refresh, so their wins are neither lost nor counted
+// twice.
+public class LeaderboardGameResultRepository implements GameResultRepository {
+
+    private static final Comparator<UserWinsDto> BY_WINS = Comparator.comparingInt(UserWinsDto::wins).reversed()
+            .thenComparing(UserWinsDto::username)
+            .thenComparing(UserWinsDto::uuid);
+
+    private final GameResultRepository delegate;
+    private final UserRepository userRepository;
+    private final Map<UUID, UserWinsDto> winsByUser = new HashMap<>();
+    private final NavigableSet<UserWinsDto> ranking = new TreeSet<>(BY_WINS);
+    private final ReadWriteLock refreshLock = new ReentrantReadWriteLock();
+
+    public LeaderboardGameResultRepository(GameResultRepository delegate, UserRepository userRepository) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.userRepository = Objects.requireNonNull(userRepository);
+        refresh();
+    }
+
+    public void refresh() {
+        refreshLock.writeLock().lock();
+        try {
+            final List<UserWinsDto> winsOfAllUsers = delegate.findWinsOfAllUsers();
+            synchronized (this) {
+                winsByUser.clear();
+                ranking.clear();
+                winsOfAllUsers.forEach(this::put);
+            }
+        } finally {
+            refreshLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(GameResultDto gameResultDto) {
+        refreshLock.readLock().lock();
+        try {
+            delegate.save(gameResultDto);
+            if (gameResultDto.winnerUuid() != null) countWin(gameResultDto.winnerUuid());
+        } finally {
+            refreshLock.readLock().unlock();
+        }
+    }
+
+    private synchronized void countWin(UUID winnerUuid) {
+        final UserWinsDto current = winsByUser.get(winnerUuid);
+        if (current != null) {
+            ranking.remove(current);
+            put(new UserWinsDto(winnerUuid, current.username(), current.wins() + 1));
+            return;
+        }
+        userRepository.findByUuid(winnerUuid).ifPresent(user -> put(new UserWinsDto(winnerUuid, user.username(), 1)));
+    }
+
+    private void put(UserWinsDto userWins) {
+        winsByUser.put(userWins.uuid(), userWins);
+        ranking.add(userWins);
+    }
+
+    @Override
+    public synchronized List<PlayerWinsDto> findTopWinners(Integer maxNumberOfUsers) {
+        final List<PlayerWinsDto> topWinners = new ArrayList<>(Math.min(maxNumberOfUsers, ranking.size()));
+        for (UserWinsDto userWins : ranking) {
+            if (topWinners.size() == maxNumberOfUsers) break;
+            topWinners.add(new PlayerWinsDto(userWins.username(), userWins.wins()));
+        }
+        return topWinners;
+    }
+
+    @Override
+    public synchronized List<UserWinsDto> findWinsOfAllUsers() {
+        return List.copyOf(ranking);
+    }
+
+    @Override
+    public List<GameResultUsernamesDto> findPageByUserUuid(UUID uuid, MatchCursor after, int limit) {
+        return delegate.findPageByUserUuid(uuid, after, limit);
+    }
+}
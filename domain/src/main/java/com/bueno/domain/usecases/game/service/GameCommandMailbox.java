@@ -0,0 +1,115 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+// Serializes the commands of each game, so the load, change and save of a game by one request never interleaves with
+// another request to the same game. Games are sharded by UUID over single threaded executors: commands of the same game
+// always run one after another in their shard, while games of different shards run in parallel. The caller waits for
+// the result of its command. A command issued from the shard thread itself, like the bot turns that follow a player
+// action, runs right away, as it is already serialized.
+public class GameCommandMailbox implements AutoCloseable {
+
+    private final ExecutorService[] shards;
+    private final AtomicReferenceArray<Thread> shardThreads;
+
+    public GameCommandMailbox(int numberOfShards) {
+        if (numberOfShards < 1) throw new IllegalArgumentException("Number of shards must be positive.");
+        shards = new ExecutorService[numberOfShards];
+        shardThreads = new AtomicReferenceArray<>(numberOfShards);
+        for (int shard = 0; shard < numberOfShards; shard++) {
+            final int index = shard;
+            shards[shard] = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "game-mailbox-" + index);
+                thread.setDaemon(true);
+                shardThreads.set(index, thread);
+                return thread;
+            });
+        }
+    }
+
+    public <T> T execute(UUID gameUuid, Supplier<T> command) {
+        Objects.requireNonNull(command);
+        final int shard = Math.floorMod(Objects.requireNonNull(gameUuid).hashCode(), shards.length);
+        if (Thread.currentThread() == shardThreads.get(shard)) return command.get();
+
+        final Future<T> result;
+        try {
+            result = shards[shard].submit(command::get);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Game mailbox is closed.", e);
+        }
+        return await(result);
+    }
+
+    // Runs the command in the mailbox of the game of the given player, which is found without reading the game.
+    // Commands of players without a game run right away, so they fail as they would without the mailbox.
+    public <T> T executeForPlayer(GameRepository repo, UUID playerUuid, Supplier<T> command) {
+        if (playerUuid == null) return command.get();
+        final Optional<UUID> gameUuid = repo.findVersionByPlayerUuid(playerUuid).map(GameVersionDto::gameUuid);
+        return gameUuid.isPresent() ? execute(gameUuid.get(), command) : command.get();
+    }
+
+    // The command runs even if the caller is interrupted, so the caller still waits for its result.
+    private static <T> T await(Future<T> result) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return result.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) shard.shutdown();
+        try {
+            for (ExecutorService shard : shards) shard.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.converter.SpiModelAdapter.IncrementalGameIntelBuilder;
+import com.bueno.domain.usecases.bot.handlers.BotAction;
+import com.bueno.domain.usecases.bot.handlers.BotDecisionChain;
+import com.bueno.domain.usecases.game.converter.GameResultConverter;
+import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.hand.HandResultRepository;
+import com.bueno.domain.usecases.hand.converter.HandResultConverter;
+import com.bueno.domain.usecases.hand.dtos.HandResultDto;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.service.BotServiceManager;
+import com.bueno.spi.service.BotServiceProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+// Plays bot versus bot games directly on the Game and Hand entities, without converting the game to DTOs or reloading
+// it from a repository between moves. The bots decide through the same handler chain used by the bot use case, but
+// their actions are applied to the hand instead of going through the game use cases.
+public class SimulationEngine {
+
+    private final GameResultRepository gameResultRepository;
+    private final HandResultRepository handResultRepository;
+
+    public SimulationEngine() {
+        this(null, null);
+    }
+
+    public SimulationEngine(GameResultRepository gameResultRepository, HandResultRepository handResultRepository) {
+        this.gameResultRepository = gameResultRepository;
+        this.handResultRepository = handResultRepository;
+    }
+
+    public Game play(Game game) {
+        Objects.requireNonNull(game, "Game must not be null!");
+        final Map<UUID, Bot> bots = new HashMap<>();
+        final List<HandResultDto> handResults = new ArrayList<>();
+
+        while (!game.isDone()) {
+            step(game, bots);
+            if (game.currentHand().getResult().isPresent()) finishHand(game, bots, handResults);
+        }
+
+        if (handResultRepository != null) handResultRepository.saveAll(handResults);
+        if (gameResultRepository != null) gameResultRepository.save(GameResultConverter.toDto(game));
+        return game;
+    }
+
+    private void step(Game game, Map<UUID, Bot> bots) {
+        final Hand hand = game.currentHand();
+        final Player player = hand.getCurrentPlayer();
+        if (player == null || !player.isBot())
+            throw new IllegalStateException("Simulation requires a bot to play, but current player is " + player);
+
+        final Bot bot = bots.computeIfAbsent(player.getUuid(), unused -> newBot(player));
+        final Intel intel = hand.getLastIntel();
+        final GameIntel gameIntel = bot.intelBuilder().build(player, intel);
+
+        final BotAction action = bot.decisions().decide(intel, gameIntel);
+        if (action == null) throw new IllegalStateException("No bot action is applicable for hand state: " + intel);
+        apply(hand, player, action);
+    }
+
+    private Bot newBot(Player player) {
+        final BotServiceProvider provider = BotServiceManager.newInstance(player.getUsername());
+        return new Bot(BotDecisionChain.of(provider), new IncrementalGameIntelBuilder());
+    }
+
+    private void apply(Hand hand, Player player, BotAction action) {
+        switch (action.type()) {
+            case ACCEPT -> hand.accept(player);
+            case QUIT -> hand.quit(player);
+            case RAISE -> hand.raise(player);
+            case PLAY, DISCARD -> playCard(hand, player, action);
+        }
+    }
+
+    private void playCard(Hand hand, Player player, BotAction action) {
+        final Card card = action.card();
+        final Card playedCard = action.type() == BotAction.Type.DISCARD ? player.discard(card) : player.play(card);
+        if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(player, playedCard);
+        else hand.playSecondCard(player, playedCard);
+    }
+
+    private void finishHand(Game game, Map<UUID, Bot> bots, List<HandResultDto> handResults) {
+        if (handResultRepository != null) handResults.add(HandResultConverter.of(game));
+        bots.values().forEach(bot -> bot.intelBuilder().newHand());
+        game.updateScores();
+        if (!game.isDone()) game.prepareNewHand();
+    }
+
+    private record Bot(BotDecisionChain decisions, IncrementalGameIntelBuilder intelBuilder) {}
+}
@@ -1,59 +1,58 @@
 package com.bueno.domain.usecases.game.service;
 
-import com.bueno.domain.usecases.bot.BotUseCase;
-import com.bueno.domain.usecases.game.converter.GameConverter;
-import com.bueno.domain.usecases.game.dtos.CreateForBotsDto;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.game.dtos.PlayWithBotsDto;
-import com.bueno.domain.usecases.game.repos.GameRepoDisposableImpl;
-import com.bueno.domain.usecases.game.repos.GameRepository;
-import com.bueno.domain.usecases.game.usecase.CreateGameUseCase;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 public class SimulationService {
    private final UUID uuidBot1;
    private final String bot1Name;
    private final UUID uuidBot2;
    private final String bot2Name;
+   private final SplittableRandom masterRandom;
 
     public SimulationService(UUID uuidBotToEvaluate, String botToEvaluateName, String challengedBotName) {
+        this(uuidBotToEvaluate, botToEvaluateName, challengedBotName, new SplittableRandom().nextLong());
+    }
+
+    public SimulationService(UUID uuidBotToEvaluate, String botToEvaluateName, String challengedBotName, long masterSeed) {
         this.uuidBot1 = uuidBotToEvaluate;
         this.bot1Name = botToEvaluateName;
-        this.uuidBot2 = UUID.randomUUID();;
+        this.uuidBot2 = UUID.randomUUID();
         this.bot2Name = challengedBotName;
+        this.masterRandom = new SplittableRandom(masterSeed);
     }
 
     public List<PlayWithBotsDto> runInParallel(int times) {
-        final Callable<PlayWithBotsDto> gameWaitingForBeCreatedAndPlayed = this::simulate;
-        return Stream.generate(() -> gameWaitingForBeCreatedAndPlayed)
-                .limit(times)
-                .parallel()
+        //Seeds are drawn sequentially from the master seed, so the same master seed always deals the same games.
+        return masterRandom.longs(times).boxed().toList().parallelStream()
+                .map(seed -> (Callable<PlayWithBotsDto>) () -> simulate(seed))
                 .map(executeGameCall())
                 .filter(Objects::nonNull)
                 .toList();
     }
 
-    private PlayWithBotsDto simulate(){
-        GameRepository gameRepository = new GameRepoDisposableImpl();
-        final var requestModel = new CreateForBotsDto(uuidBot1, bot1Name, uuidBot2, bot2Name);
-        final CreateGameUseCase createGameUseCase = new CreateGameUseCase(gameRepository);
-        createGameUseCase.createForBots(requestModel);
-        final var game = gameRepository.findByPlayerUuid(requestModel.bot1Uuid()).map(GameConverter::fromDto).orElseThrow();
-        final var botUseCase = new BotUseCase(gameRepository);
+    public PlayWithBotsDto replay(long seed) {
+        return simulate(seed);
+    }
+
+    private PlayWithBotsDto simulate(long seed){
+        final var bot1 = Player.ofBot(uuidBot1, bot1Name);
+        final var bot2 = Player.ofBot(uuidBot2, bot2Name);
+        final var engine = new SimulationEngine();
 
         //Plays the game
-        final var intel = botUseCase.playWhenNecessary(game);
+        final var game = engine.play(new Game(bot1, bot2, new SplittableRandom(seed)));
 
-        final var winnerUUID = intel.gameWinner().orElseThrow();
-        final var winnerName = winnerUUID.equals(requestModel.bot1Uuid()) ?
-                requestModel.bot1Name() : requestModel.bot2Name();
-//        System.out.println("Winner: " + winnerName);
-        return new PlayWithBotsDto(winnerUUID, winnerName);
+        final var winner = game.getWinner().orElseThrow();
+        return new PlayWithBotsDto(winner.getUuid(), winner.getUsername(), seed);
     }
 
 
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs a game command again when the repository rejects its write with a StaleGameException, which happens when the
+// game has been updated by someone else since the command read it. The command must read the game again on every
+// attempt, so that it is applied to the current version. Before each retry, it waits a random time that grows with
+// the number of attempts, so that commands colliding on the same game do not retry in lockstep.
+public class StaleGameRetryPolicy {
+
+    public static final StaleGameRetryPolicy DEFAULT = new StaleGameRetryPolicy(3, Duration.ofMillis(20));
+
+    private final int maxRetries;
+    private final long backoffInNanos;
+
+    public StaleGameRetryPolicy(int maxRetries, Duration backoff) {
+        if (maxRetries < 0) throw new IllegalArgumentException("Number of retries must not be negative.");
+        if (Objects.requireNonNull(backoff).isNegative()) throw new IllegalArgumentException("Backoff must not be negative.");
+        this.maxRetries = maxRetries;
+        this.backoffInNanos = backoff.toNanos();
+    }
+
+    public <T> T execute(Supplier<T> command) {
+        Objects.requireNonNull(command, "Command must not be null.");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return command.get();
+            } catch (StaleGameException e) {
+                if (attempt > maxRetries || !waitBeforeRetry(attempt)) throw e;
+            }
+        }
+    }
+
+    private boolean waitBeforeRetry(int attempt) {
+        if (backoffInNanos == 0) return true;
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(backoffInNanos * attempt + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game.service;
+
+import com.bueno.domain.entities.deck.Deck;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.dtos.TournamentProgressDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Plays a round-robin tournament in which every bot challenges every other bot. Each game (or pair of mirrored
+// games) is an independent work unit forked in the given pool, so idle workers steal the remaining matchups.
+// With mirrored deals, each deal is played twice with the bots swapping seats, which cancels out the luck of the deal.
+// Every task splits its random generator before forking, so the same master seed always deals the same tournament.
+public class TournamentService {
+
+    private final ForkJoinPool pool;
+    private final int gamesPerPairing;
+    private final boolean mirroredDeals;
+    private final Consumer<TournamentProgressDto> progressListener;
+    private final long masterSeed;
+
+    public TournamentService(ForkJoinPool pool, int gamesPerPairing, boolean mirroredDeals,
+                             Consumer<TournamentProgressDto> progressListener) {
+        this(pool, gamesPerPairing, mirroredDeals, progressListener, new SplittableRandom().nextLong());
+    }
+
+    public TournamentService(ForkJoinPool pool, int gamesPerPairing, boolean mirroredDeals,
+                             Consumer<TournamentProgressDto> progressListener, long masterSeed) {
+        if (gamesPerPairing < 1) throw new IllegalArgumentException("Games per pairing must be positive.");
+        this.pool = Objects.requireNonNull(pool);
+        this.gamesPerPairing = gamesPerPairing;
+        this.mirroredDeals = mirroredDeals;
+        this.progressListener = Objects.requireNonNull(progressListener);
+        this.masterSeed = masterSeed;
+    }
+
+    public int gamesPlayedPerPairing() {
+        return mirroredDeals ? 2 * gamesPerPairing : gamesPerPairing;
+    }
+
+    // Returns, for each bot, the number of opponents it has beaten in more than half of the games it has challenged them.
+    public Map<String, Long> rank(List<String> botNames) {
+        final Tournament tournament = new Tournament(List.copyOf(botNames));
+        pool.invoke(new MatchupsTask(tournament, new SplittableRandom(masterSeed), 0, tournament.matchups.size()));
+        return tournament.ranking();
+    }
+
+    private record Matchup(int evaluated, int challenged) {}
+
+    private final class Tournament {
+        private final List<String> botNames;
+        private final List<Matchup> matchups = new ArrayList<>();
+        private final LongAdder[] wins;
+        private final AtomicLong gamesPlayed = new AtomicLong();
+        private final LongAdder failedGames = new LongAdder();
+        private final long totalGames;
+        private final long reportInterval;
+        private final long start = System.currentTimeMillis();
+
+        private Tournament(List<String> botNames) {
+            final int numberOfBots = botNames.size();
+            this.botNames = botNames;
+            this.wins = new LongAdder[numberOfBots * numberOfBots];
+
+            for (int evaluated = 0; evaluated < numberOfBots; evaluated++) {
+                for (int challenged = 0; challenged < numberOfBots; challenged++) {
+                    if (evaluated == challenged) continue;
+                    wins[evaluated * numberOfBots + challenged] = new LongAdder();
+                    for (int game = 0; game < gamesPerPairing; game++)
+                        matchups.add(new Matchup(evaluated, challenged));
+                }
+            }
+            this.totalGames = (long) matchups.size() * (mirroredDeals ? 2 : 1);
+            this.reportInterval = Math.max(1, totalGames / 100);
+        }
+
+        private void play(Matchup matchup, long dealSeed) {
+            final String evaluatedName = botNames.get(matchup.evaluated());
+            final String challengedName = botNames.get(matchup.challenged());
+            final LongAdder evaluatedWins = wins[matchup.evaluated() * botNames.size() + matchup.challenged()];
+
+            countWin(evaluatedWins, evaluatedName, challengedName, new Deck(new SplittableRandom(dealSeed)), true);
+            if (mirroredDeals)
+                countWin(evaluatedWins, challengedName, evaluatedName, new Deck(new SplittableRandom(dealSeed)), false);
+        }
+
+        private void countWin(LongAdder evaluatedWins, String bot1Name, String bot2Name, Deck deck,
+                              boolean evaluatedIsBot1) {
+            final Player bot1 = Player.ofBot(bot1Name);
+            final Player bot2 = Player.ofBot(bot2Name);
+            try {
+                final Game game = new SimulationEngine().play(new Game(bot1, bot2, deck));
+                final Player winner = game.getWinner().orElseThrow();
+                if (winner.equals(evaluatedIsBot1 ? bot1 : bot2)) evaluatedWins.increment();
+            } catch (Exception e) {
+                failedGames.increment();
+            }
+            reportProgress(gamesPlayed.incrementAndGet());
+        }
+
+        private void reportProgress(long played) {
+            if (played % reportInterval != 0 && played != totalGames) return;
+            final long elapsedTime = System.currentTimeMillis() - start;
+            progressListener.accept(new TournamentProgressDto(played, totalGames, failedGames.sum(), elapsedTime));
+        }
+
+        private Map<String, Long> ranking() {
+            final int numberOfBots = botNames.size();
+            final Map<String, Long> rank = new LinkedHashMap<>();
+            for (int evaluated = 0; evaluated < numberOfBots; evaluated++) {
+                long pairingsWon = 0;
+                for (int challenged = 0; challenged < numberOfBots; challenged++) {
+                    if (evaluated == challenged) continue;
+                    final long botWins = wins[evaluated * numberOfBots + challenged].sum();
+                    if (botWins > gamesPlayedPerPairing() / 2) pairingsWon++;
+                }
+                rank.put(botNames.get(evaluated), pairingsWon);
+            }
+            return rank;
+        }
+    }
+
+    private final class MatchupsTask extends RecursiveAction {
+        private final Tournament tournament;
+        private final SplittableRandom random;
+        private final int from;
+        private final int to;
+
+        private MatchupsTask(Tournament tournament, SplittableRandom random, int from, int to) {
+            this.tournament = tournament;
+            this.random = random;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) tournament.play(tournament.matchups.get(from), random.nextLong());
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            final SplittableRandom firstHalfRandom = random.split();
+            invokeAll(new MatchupsTask(tournament, firstHalfRandom, from, middle),
+                    new MatchupsTask(tournament, random, middle, to));
+        }
+    }
+}
@@ -31,16 +31,30 @@ public class PlayWithBotsUseCase {
     private final UUID uuidBot1;
     private final String bot1Name;
     private final String bot2Name;
+    private final Long masterSeed;
 
     public PlayWithBotsUseCase(UUID uuidBot1, String bot1Name, String bot2Name) {
+        this(uuidBot1, bot1Name, bot2Name, null);
+    }
+
+    public PlayWithBotsUseCase(UUID uuidBot1, String bot1Name, String bot2Name, Long masterSeed) {
         this.uuidBot1 = uuidBot1;
         this.bot1Name = bot1Name;
         this.bot2Name = bot2Name;
+        this.masterSeed = masterSeed;
     }
 
     public List<PlayWithBotsDto> playWithBots(int times) {
-        final var simulator = new SimulationService(uuidBot1, bot1Name, bot2Name);
-        return simulator.runInParallel(times);
+        return createSimulator().runInParallel(times);
+    }
+
+    public PlayWithBotsDto replay(long seed) {
+        return createSimulator().replay(seed);
+    }
+
+    private SimulationService createSimulator() {
+        if (masterSeed == null) return new SimulationService(uuidBot1, bot1Name, bot2Name);
+        return new SimulationService(uuidBot1, bot1Name, bot2Name, masterSeed);
     }
 
 }
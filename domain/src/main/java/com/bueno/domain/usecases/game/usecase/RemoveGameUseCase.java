@@ -24,7 +24,6 @@ import com.bueno.domain.usecases.game.dtos.GameDto;
 import com.bueno.domain.usecases.game.dtos.GameResultDto;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
-import com.bueno.domain.usecases.hand.dtos.HandDto;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -46,17 +45,9 @@ public class RemoveGameUseCase {
     }
 
     public List<UUID> byInactivityAfter(int minutes){
-        final List<UUID> gamesToRemove = gameRepo.findAllInactiveAfter(minutes)
-                .stream()
-                .map(this::inactivePlayerUuid)
-                .toList();
-        gamesToRemove.forEach(this::byUserUuid);
-        return gamesToRemove;
-    }
-
-    public UUID inactivePlayerUuid(GameDto game){
-        final HandDto currentHand = game.hands().get(game.hands().size() - 1);
-        return currentHand.currentPlayer().uuid();
+        final List<UUID> inactivePlayers = List.copyOf(gameRepo.findAllInactiveAfter(minutes));
+        inactivePlayers.forEach(this::byUserUuid);
+        return inactivePlayers;
     }
 
     public void byUserUuid(UUID userUuid) {
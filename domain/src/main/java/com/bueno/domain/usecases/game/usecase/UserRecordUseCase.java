@@ -20,16 +20,21 @@
 
 package com.bueno.domain.usecases.game.usecase;
 
+import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import com.bueno.domain.usecases.game.dtos.MatchCursor;
 import com.bueno.domain.usecases.game.dtos.UserRecordDto;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
 import com.bueno.domain.usecases.user.UserRepository;
 import com.bueno.domain.usecases.utils.exceptions.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class UserRecordUseCase {
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final GameResultRepository gameResultRepository;
     private final UserRepository userRepository;
 
@@ -38,10 +43,18 @@ public class UserRecordUseCase {
         this.userRepository = userRepository;
     }
 
-    public UserRecordDto listByUuid(UUID userUuid){
+    public UserRecordDto listByUuid(UUID userUuid, String cursor, int limit){
+        if(limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        final MatchCursor after = cursor == null || cursor.isBlank() ? null : MatchCursor.decode(cursor);
         var user = userRepository.findByUuid(userUuid)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + userUuid));
-        var userRecord = gameResultRepository.findAllByUserUuid(userUuid);
-        return new UserRecordDto(user.uuid(), user.username(), userRecord);
+
+        // Asks for one extra match to know whether there is a next page.
+        final List<GameResultUsernamesDto> matches = gameResultRepository.findPageByUserUuid(userUuid, after, limit + 1);
+        if(matches.size() <= limit) return new UserRecordDto(user.uuid(), user.username(), matches, null);
+        final List<GameResultUsernamesDto> page = matches.subList(0, limit);
+        final String nextCursor = MatchCursor.of(page.get(limit - 1)).encode();
+        return new UserRecordDto(user.uuid(), user.username(), List.copyOf(page), nextCursor);
     }
 }
@@ -0,0 +1,149 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.hand;
+
+import com.bueno.domain.usecases.hand.dtos.HandResultDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Buffers hand results in a bounded queue and writes them in batches from a single background thread, so the threads
+// finishing hands do not wait for the database. The writer takes whatever is buffered, up to the batch size, as soon
+// as there is something to write. When the buffer is full, save blocks until the writer makes room. Closing the
+// repository writes everything still buffered; results saved after that are written by the caller itself. A batch the
+// delegate fails to write is tried again after a growing delay, and then result by result, so only the results the
+// delegate keeps refusing are lost.
+public class BatchingHandResultRepository implements HandResultRepository, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchingHandResultRepository.class.getName());
+    private static final long POLL_TIMEOUT_IN_MILLIS = 100;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_IN_MILLIS = 100;
+
+    private final HandResultRepository delegate;
+    private final BlockingQueue<HandResultDto> buffer;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public BatchingHandResultRepository(HandResultRepository delegate, int bufferSize, int batchSize) {
+        if (batchSize < 1 || bufferSize < batchSize)
+            throw new IllegalArgumentException("Batch size must be positive and not greater than the buffer size.");
+        this.delegate = Objects.requireNonNull(delegate);
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::writeBatches, "hand-result-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void save(HandResultDto handResultDto) {
+        Objects.requireNonNull(handResultDto, "Hand result must not be null.");
+        if (closed) {
+            delegate.save(handResultDto);
+            return;
+        }
+        try {
+            buffer.put(handResultDto);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.save(handResultDto);
+            return;
+        }
+        // The writer may have stopped between the check and the put, so the caller writes what is left.
+        if (closed) writeBuffered();
+    }
+
+    private void writeBatches() {
+        final List<HandResultDto> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                final HandResultDto first = buffer.poll(POLL_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void writeBuffered() {
+        final List<HandResultDto> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) write(batch);
+    }
+
+    private void write(List<HandResultDto> batch) {
+        try {
+            for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+                try {
+                    delegate.saveAll(List.copyOf(batch));
+                    return;
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Could not write " + batch.size() + " hand results (attempt "
+                            + attempt + " of " + MAX_BATCH_ATTEMPTS + ").", e);
+                }
+                if (attempt < MAX_BATCH_ATTEMPTS && !waitBeforeRetry(attempt)) break;
+            }
+            batch.forEach(this::writeOne);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private boolean waitBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(RETRY_DELAY_IN_MILLIS << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeOne(HandResultDto handResultDto) {
+        try {
+            delegate.save(handResultDto);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Could not write hand result of game " + handResultDto.gameUuid() + ": "
+                    + handResultDto, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBuffered();
+    }
+}
@@ -22,6 +22,12 @@ package com.bueno.domain.usecases.hand;
 
 import com.bueno.domain.usecases.hand.dtos.HandResultDto;
 
+import java.util.List;
+
 public interface HandResultRepository {
     void save(HandResultDto handResultDto);
+
+    default void saveAll(List<HandResultDto> handResultDtos) {
+        handResultDtos.forEach(this::save);
+    }
 }
@@ -25,10 +25,13 @@ import com.bueno.domain.entities.game.Game;
 import com.bueno.domain.entities.hand.Hand;
 import com.bueno.domain.entities.intel.PossibleAction;
 import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.BotTurnExecutor;
 import com.bueno.domain.usecases.bot.BotUseCase;
 import com.bueno.domain.usecases.game.converter.GameConverter;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.service.GameCommandMailbox;
+import com.bueno.domain.usecases.game.service.StaleGameRetryPolicy;
 import com.bueno.domain.usecases.hand.dtos.PlayCardDto;
 import com.bueno.domain.usecases.hand.validator.ActionValidator;
 import com.bueno.domain.usecases.intel.converters.CardConverter;
@@ -44,20 +47,49 @@ public class PlayCardUseCase {
     private final GameResultRepository gameResultRepository;
     private final HandResultRepository handResultRepository;
     private final BotUseCase botUseCase;
+    private final GameCommandMailbox mailbox;
+    private final StaleGameRetryPolicy retryPolicy = StaleGameRetryPolicy.DEFAULT;
 
     public PlayCardUseCase(GameRepository gameRepository) {
         this(gameRepository, null, null);
     }
 
-    @Autowired
     public PlayCardUseCase(GameRepository gameRepository,
                            GameResultRepository gameResultRepository,
                            HandResultRepository handResultRepository) {
+        this(gameRepository, gameResultRepository, handResultRepository, (BotTurnExecutor) null, null);
+    }
+
+    @Autowired
+    public PlayCardUseCase(GameRepository gameRepository,
+                           GameResultRepository gameResultRepository,
+                           HandResultRepository handResultRepository,
+                           BotTurnExecutor botTurnExecutor,
+                           GameCommandMailbox mailbox) {
+        this(gameRepository, gameResultRepository, handResultRepository,
+                new BotUseCase(gameRepository, gameResultRepository, handResultRepository, botTurnExecutor, mailbox),
+                mailbox);
+    }
 
+    //Use a null botUseCase to only apply the requested action, without playing the bot turns that may follow it.
+    public PlayCardUseCase(GameRepository gameRepository,
+                           GameResultRepository gameResultRepository,
+                           HandResultRepository handResultRepository,
+                           BotUseCase botUseCase) {
+        this(gameRepository, gameResultRepository, handResultRepository, botUseCase, null);
+    }
+
+    //Use a null mailbox if the commands to the same game are not serialized.
+    public PlayCardUseCase(GameRepository gameRepository,
+                           GameResultRepository gameResultRepository,
+                           HandResultRepository handResultRepository,
+                           BotUseCase botUseCase,
+                           GameCommandMailbox mailbox) {
         this.gameRepository = gameRepository;
         this.gameResultRepository = gameResultRepository;
         this.handResultRepository = handResultRepository;
-        this.botUseCase = new BotUseCase(gameRepository, gameResultRepository, handResultRepository);
+        this.botUseCase = botUseCase;
+        this.mailbox = mailbox;
     }
 
     public IntelDto playCard(PlayCardDto request) {
@@ -69,12 +101,30 @@ public class PlayCardUseCase {
     }
 
     private IntelDto playCard(PlayCardDto request, boolean discard) {
+        if (mailbox == null) return applyPlayCard(request, discard);
+        return mailbox.executeForPlayer(gameRepository, request.uuid(), () -> applyPlayCard(request, discard));
+    }
+
+    private IntelDto applyPlayCard(PlayCardDto request, boolean discard) {
+        final ResultHandler resultHandler = new ResultHandler(gameResultRepository, handResultRepository);
+        Game game = retryPolicy.execute(() -> playCardInCurrentGame(request, discard, resultHandler));
+        resultHandler.save();
+        if (game.isDone()) return IntelConverter.toDto(game.getIntel());
+
+        if (botUseCase == null) return IntelConverter.toDto(game.getIntel());
+        botUseCase.respondTo(game);
+
+        game = gameRepository.findByPlayerUuid(request.uuid()).map(GameConverter::fromDto).orElseThrow();
+        return IntelConverter.toDto(game.getIntel());
+    }
+
+    private Game playCardInCurrentGame(PlayCardDto request, boolean discard, ResultHandler resultHandler) {
         final var validator = new ActionValidator(gameRepository, PossibleAction.PLAY);
         final var notification = validator.validate(request.uuid());
 
         if (notification.hasErrors()) throw new UnsupportedGameRequestException(notification.errorMessage());
 
-        Game game = gameRepository.findByPlayerUuid(request.uuid()).map(GameConverter::fromDto).orElseThrow();
+        final Game game = gameRepository.findByPlayerUuid(request.uuid()).map(GameConverter::fromDto).orElseThrow();
         final Hand hand = game.currentHand();
         final Player player = hand.getCurrentPlayer();
         final Card cardToPlay = CardConverter.fromDto(request.card());
@@ -83,15 +133,8 @@ public class PlayCardUseCase {
         if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(player, playedCard);
         else hand.playSecondCard(player, playedCard);
 
-        final ResultHandler resultHandler = new ResultHandler(gameResultRepository, handResultRepository);
-        final IntelDto gameResult = resultHandler.handle(game);
-
+        resultHandler.handle(game);
         gameRepository.update(GameConverter.toDto(game));
-        if(gameResult != null) return gameResult;
-
-        botUseCase.playWhenNecessary(game);
-
-        game = gameRepository.findByPlayerUuid(request.uuid()).map(GameConverter::fromDto).orElseThrow();
-        return IntelConverter.toDto(game.getIntel());
+        return game;
     }
 }
@@ -23,11 +23,13 @@ package com.bueno.domain.usecases.hand;
 import com.bueno.domain.entities.game.Game;
 import com.bueno.domain.entities.hand.Hand;
 import com.bueno.domain.entities.intel.PossibleAction;
-import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.BotTurnExecutor;
 import com.bueno.domain.usecases.bot.BotUseCase;
 import com.bueno.domain.usecases.game.converter.GameConverter;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.service.GameCommandMailbox;
+import com.bueno.domain.usecases.game.service.StaleGameRetryPolicy;
 import com.bueno.domain.usecases.hand.validator.ActionValidator;
 import com.bueno.domain.usecases.intel.converters.IntelConverter;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
@@ -39,6 +41,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 public class PointsProposalUseCase {
@@ -47,70 +50,117 @@ public class PointsProposalUseCase {
     private final GameResultRepository gameResultRepository;
     private final HandResultRepository handResultRepository;
     private final BotUseCase botUseCase;
+    private final GameCommandMailbox mailbox;
+    private final StaleGameRetryPolicy retryPolicy = StaleGameRetryPolicy.DEFAULT;
 
     public PointsProposalUseCase(GameRepository gameRepository) {
         this(gameRepository, null, null);
     }
 
-    @Autowired
     public PointsProposalUseCase(GameRepository gameRepository,
                                  GameResultRepository gameResultRepository,
                                  HandResultRepository handResultRepository) {
+        this(gameRepository, gameResultRepository, handResultRepository, (BotTurnExecutor) null, null);
+    }
+
+    @Autowired
+    public PointsProposalUseCase(GameRepository gameRepository,
+                                 GameResultRepository gameResultRepository,
+                                 HandResultRepository handResultRepository,
+                                 BotTurnExecutor botTurnExecutor,
+                                 GameCommandMailbox mailbox) {
+        this(gameRepository, gameResultRepository, handResultRepository,
+                new BotUseCase(gameRepository, gameResultRepository, handResultRepository, botTurnExecutor, mailbox),
+                mailbox);
+    }
+
+    //Use a null botUseCase to only apply the requested action, without playing the bot turns that may follow it.
+    public PointsProposalUseCase(GameRepository gameRepository,
+                                 GameResultRepository gameResultRepository,
+                                 HandResultRepository handResultRepository,
+                                 BotUseCase botUseCase) {
+        this(gameRepository, gameResultRepository, handResultRepository, botUseCase, null);
+    }
+
+    //Use a null mailbox if the commands to the same game are not serialized.
+    public PointsProposalUseCase(GameRepository gameRepository,
+                                 GameResultRepository gameResultRepository,
+                                 HandResultRepository handResultRepository,
+                                 BotUseCase botUseCase,
+                                 GameCommandMailbox mailbox) {
         this.gameRepository = Objects.requireNonNull( gameRepository);
         this.gameResultRepository = gameResultRepository;
         this.handResultRepository = handResultRepository;
-        this.botUseCase = new BotUseCase(gameRepository, gameResultRepository, handResultRepository);
+        this.botUseCase = botUseCase;
+        this.mailbox = mailbox;
     }
 
     public IntelDto raise(UUID playerUuid){
-        validateInput(playerUuid, PossibleAction.RAISE);
-
-        Game game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        final Hand hand = game.currentHand();
-        final Player player = hand.getCurrentPlayer();
-
-        hand.raise(player);
-        gameRepository.update(GameConverter.toDto(game));
-        botUseCase.playWhenNecessary(game);
+        return inMailbox(playerUuid, () -> applyRaise(playerUuid));
+    }
 
-        game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        return IntelConverter.toDto(game.getIntel());
+    private IntelDto applyRaise(UUID playerUuid){
+        final Game game = retryPolicy.execute(() -> {
+            final Game current = findGameToAct(playerUuid, PossibleAction.RAISE);
+            final Hand hand = current.currentHand();
+            hand.raise(hand.getCurrentPlayer());
+            gameRepository.update(GameConverter.toDto(current));
+            return current;
+        });
+        return respondTo(playerUuid, game);
     }
 
     public IntelDto accept(UUID playerUuid){
-        validateInput(playerUuid, PossibleAction.ACCEPT);
-
-        Game game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        final Hand hand = game.currentHand();
-        final Player player = hand.getCurrentPlayer();
-
-        hand.accept(player);
-        gameRepository.update(GameConverter.toDto(game));
-        botUseCase.playWhenNecessary(game);
+        return inMailbox(playerUuid, () -> applyAccept(playerUuid));
+    }
 
-        game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        return IntelConverter.toDto(game.getIntel());
+    private IntelDto applyAccept(UUID playerUuid){
+        final Game game = retryPolicy.execute(() -> {
+            final Game current = findGameToAct(playerUuid, PossibleAction.ACCEPT);
+            final Hand hand = current.currentHand();
+            hand.accept(hand.getCurrentPlayer());
+            gameRepository.update(GameConverter.toDto(current));
+            return current;
+        });
+        return respondTo(playerUuid, game);
     }
 
     public IntelDto quit(UUID playerUuid){
-        validateInput(playerUuid, PossibleAction.QUIT);
-
-        Game game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        final Hand hand = game.currentHand();
-        final Player player = hand.getCurrentPlayer();
-
-        hand.quit(player);
+        return inMailbox(playerUuid, () -> applyQuit(playerUuid));
+    }
 
+    private IntelDto applyQuit(UUID playerUuid){
         final ResultHandler resultHandler = new ResultHandler(gameResultRepository, handResultRepository);
-        final IntelDto gameResult = resultHandler.handle(game);
+        final Game game = retryPolicy.execute(() -> {
+            final Game current = findGameToAct(playerUuid, PossibleAction.QUIT);
+            final Hand hand = current.currentHand();
+            hand.quit(hand.getCurrentPlayer());
+            resultHandler.handle(current);
+            gameRepository.update(GameConverter.toDto(current));
+            return current;
+        });
+        resultHandler.save();
+        if (game.isDone()) return IntelConverter.toDto(game.getIntel());
+        return respondTo(playerUuid, game);
+    }
 
-        gameRepository.update(GameConverter.toDto(game));
-        if(gameResult != null) return gameResult;
+    // Reads the game again for every attempt, since a retried command must be applied to the current version of it.
+    private Game findGameToAct(UUID playerUuid, PossibleAction action) {
+        validateInput(playerUuid, action);
+        return gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
+    }
+
+    private IntelDto respondTo(UUID playerUuid, Game game) {
+        if (botUseCase == null) return IntelConverter.toDto(game.getIntel());
+        botUseCase.respondTo(game);
 
-        botUseCase.playWhenNecessary(game);
+        final Game updatedGame = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
+        return IntelConverter.toDto(updatedGame.getIntel());
+    }
 
-        game = gameRepository.findByPlayerUuid(playerUuid).map(GameConverter::fromDto).orElseThrow();
-        return IntelConverter.toDto(game.getIntel());
+    private IntelDto inMailbox(UUID playerUuid, Supplier<IntelDto> command) {
+        if (mailbox == null) return command.get();
+        return mailbox.executeForPlayer(gameRepository, playerUuid, command);
     }
 
     private void validateInput(UUID usedUuid, PossibleAction raise) {
@@ -22,9 +22,14 @@ package com.bueno.domain.usecases.intel;
 
 import com.bueno.domain.entities.game.Game;
 import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
 import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
 import com.bueno.domain.usecases.intel.converters.CardConverter;
+import com.bueno.domain.usecases.intel.converters.CompactIntelConverter;
 import com.bueno.domain.usecases.intel.converters.IntelConverter;
+import com.bueno.domain.usecases.intel.dtos.IntelDeltaDto;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
 import com.bueno.domain.usecases.intel.dtos.IntelSinceDto;
 import com.bueno.domain.usecases.intel.dtos.OwnedCardsDto;
@@ -33,6 +38,9 @@ import com.bueno.domain.usecases.utils.exceptions.GameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -59,6 +67,49 @@ public class HandleIntelUseCase {
         return IntelConverter.toDto(game.getIntel());
     }
 
+    // Intel is numbered from 1 in the order it has happened in the game. The game over intel, which is not stored in the
+    // game, follows the last stored one. A cursor that is not in the game, as one of a previous game, reads it all.
+    public IntelDeltaDto findIntelDelta(UUID uuid, long cursor){
+        if (cursor < 0) throw new IllegalArgumentException("Cursor must not be negative: " + cursor);
+        final GameDto game = getGameDtoOrThrow(uuid);
+        final long storedIntel = storedIntelCount(game);
+        final long lastSequence = game.isDone() ? storedIntel + 1 : storedIntel;
+        final long baseSequence = cursor > lastSequence ? 0 : cursor;
+
+        final List<IntelDto> intel = new ArrayList<>();
+        final List<HandDto> hands = game.hands();
+        long sequence = storedIntel;
+        for (int hand = hands.size() - 1; hand >= 0 && sequence >= baseSequence; hand--) {
+            final List<IntelDto> history = hands.get(hand).history();
+            for (int i = history.size() - 1; i >= 0 && sequence >= baseSequence; i--, sequence--)
+                intel.add(history.get(i));
+        }
+        Collections.reverse(intel);
+        if (lastSequence > storedIntel && baseSequence <= storedIntel)
+            intel.add(IntelConverter.toDto(GameConverter.fromDto(game).getIntel()));
+
+        final IntelDto base = baseSequence > 0 && !intel.isEmpty() ? intel.remove(0) : null;
+        final var deltas = CompactIntelConverter.toDeltas(base, intel, baseSequence + 1);
+        return new IntelDeltaDto(versionOf(new GameVersionDto(game.gameUuid(), game.version())), baseSequence,
+                lastSequence, deltas);
+    }
+
+    // Identifies the game and the version it is stored as, which changes with every move, so clients can check if
+    // anything has changed. Only the version is read, not the game.
+    public String findIntelVersion(UUID uuid){
+        Objects.requireNonNull(uuid, "UUID must not be null.");
+        return repo.findVersionByPlayerUuid(uuid).map(HandleIntelUseCase::versionOf).orElseThrow(
+                () -> new GameNotFoundException("User with UUID " + uuid + " is not in an active game."));
+    }
+
+    private static long storedIntelCount(GameDto game) {
+        return game.hands().stream().mapToLong(hand -> hand.history().size()).sum();
+    }
+
+    private static String versionOf(GameVersionDto version) {
+        return version.gameUuid() + "-" + version.version();
+    }
+
     public OwnedCardsDto ownedCards(UUID uuid){
         final var game = getGameOrThrow(uuid);
         final var player = game.getPlayer1().getUuid().equals(uuid) ? game.getPlayer1() : game.getPlayer2();
@@ -72,8 +123,12 @@ public class HandleIntelUseCase {
     }
 
     private Game getGameOrThrow(UUID uuid) {
+        return GameConverter.fromDto(getGameDtoOrThrow(uuid));
+    }
+
+    private GameDto getGameDtoOrThrow(UUID uuid) {
         Objects.requireNonNull(uuid, "UUID must not be null.");
-        return repo.findByPlayerUuid(uuid).map(GameConverter::fromDto).orElseThrow(
+        return repo.findByPlayerUuid(uuid).orElseThrow(
                 () -> new GameNotFoundException("User with UUID " + uuid + " is not in an active game."));
     }
 }
@@ -0,0 +1,228 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.intel;
+
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.intel.converters.IntelConverter;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Pushes the intel of a game to the players subscribed to it, as the game is written. Every subscriber keeps the
+// timestamp of the last intel it has received, so it is sent only the intel after that cursor, and a client that
+// reconnects with its last timestamp resumes where it stopped. Intel is read from the game DTOs as they are written,
+// without converting or reloading the game, and games with no subscribed players are not read at all.
+// Given delivery threads, the written games wait in a bounded queue of each subscriber and are sent by these threads,
+// so a slow connection does not hold the thread that writes the game. A subscriber whose queue is full is closed, and
+// its client resumes from its cursor when it reconnects. Without delivery threads, intel is sent by the writing thread.
+public class IntelBroadcaster implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(IntelBroadcaster.class.getName());
+    private static final int MAX_PENDING_GAMES = 64;
+
+    private final GameRepository repo;
+    private final Map<UUID, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public IntelBroadcaster(GameRepository repo) {
+        this.repo = Objects.requireNonNull(repo);
+        this.executor = Runnable::run;
+    }
+
+    public IntelBroadcaster(GameRepository repo, int deliveryThreads) {
+        if (deliveryThreads < 1) throw new IllegalArgumentException("Number of delivery threads must be positive.");
+        this.repo = Objects.requireNonNull(repo);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "intel-delivery-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Sends the intel after the cursor, or the whole game history if it is null, and then every new intel.
+    public Subscription subscribe(UUID playerUuid, Instant cursor, Consumer<IntelDto> listener) {
+        Objects.requireNonNull(playerUuid, "UUID must not be null.");
+        final Subscription subscription = new Subscription(playerUuid, cursor, Objects.requireNonNull(listener));
+        synchronized (subscription) {
+            subscriptions.computeIfAbsent(playerUuid, unused -> new CopyOnWriteArrayList<>()).add(subscription);
+            repo.findByPlayerUuid(playerUuid).ifPresent(subscription::enqueue);
+        }
+        return subscription;
+    }
+
+    public void publish(GameDto game) {
+        publish(game, game.player1().uuid());
+        publish(game, game.player2().uuid());
+    }
+
+    private void publish(GameDto game, UUID playerUuid) {
+        final List<Subscription> subscribers = subscriptions.get(playerUuid);
+        if (subscribers == null) return;
+        subscribers.forEach(subscription -> subscription.enqueue(game));
+    }
+
+    public int subscriberCount() {
+        return subscriptions.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public void close() {
+        if (!(executor instanceof ExecutorService service)) return;
+        service.shutdown();
+        try {
+            service.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.playerUuid, (uuid, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    // Returns the intel of the game after the cursor. Hand histories are walked backwards, so only the new intel is read.
+    // The game over intel is not stored in the game, so it is sent to the subscribers that have not gone past the
+    // last stored intel yet.
+    static List<IntelDto> intelAfter(GameDto game, Instant cursor) {
+        final List<IntelDto> intel = new ArrayList<>();
+        final List<HandDto> hands = game.hands();
+        boolean hasReachedCursor = false;
+        for (int hand = hands.size() - 1; hand >= 0 && !hasReachedCursor; hand--) {
+            final List<IntelDto> history = hands.get(hand).history();
+            for (int i = history.size() - 1; i >= 0; i--) {
+                hasReachedCursor = cursor != null && !history.get(i).timestamp().isAfter(cursor);
+                if (hasReachedCursor) break;
+                intel.add(history.get(i));
+            }
+        }
+        Collections.reverse(intel);
+        final boolean isPastStoredIntel = hasReachedCursor && intel.isEmpty() && !isLastStoredIntel(game, cursor);
+        if (game.isDone() && !isPastStoredIntel)
+            intel.add(IntelConverter.toDto(GameConverter.fromDto(game).getIntel()));
+        return intel;
+    }
+
+    private static boolean isLastStoredIntel(GameDto game, Instant cursor) {
+        final List<IntelDto> history = game.hands().get(game.hands().size() - 1).history();
+        return !history.isEmpty() && history.get(history.size() - 1).timestamp().equals(cursor);
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final UUID playerUuid;
+        private final Consumer<IntelDto> listener;
+        private final BlockingQueue<GameDto> pendingGames = new ArrayBlockingQueue<>(MAX_PENDING_GAMES);
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        private volatile Instant cursor;
+        private volatile boolean closed;
+
+        private Subscription(UUID playerUuid, Instant cursor, Consumer<IntelDto> listener) {
+            this.playerUuid = playerUuid;
+            this.cursor = cursor;
+            this.listener = listener;
+        }
+
+        private void enqueue(GameDto game) {
+            synchronized (this) {
+                if (closed) return;
+                if (!pendingGames.offer(game)) {
+                    LOGGER.fine("Too much intel pending for player " + playerUuid + ", unsubscribing.");
+                    close();
+                    return;
+                }
+            }
+            scheduleDelivery();
+        }
+
+        // At most one delivery of each subscriber runs at a time, so its intel is sent in order.
+        private void scheduleDelivery() {
+            if (!delivering.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this::deliverPendingGames);
+            } catch (RejectedExecutionException e) {
+                delivering.set(false);
+                close();
+            }
+        }
+
+        // A game followed by a newer version of itself is skipped, since the newer version has all of its intel.
+        private void deliverPendingGames() {
+            GameDto game;
+            while ((game = pendingGames.poll()) != null) {
+                final GameDto next = pendingGames.peek();
+                if (next == null || !next.gameUuid().equals(game.gameUuid())) deliver(game);
+            }
+            delivering.set(false);
+            if (!pendingGames.isEmpty()) scheduleDelivery();
+        }
+
+        // A listener that fails is unsubscribed, so a broken connection does not fail the game update that notifies it.
+        private void deliver(GameDto game) {
+            if (closed) return;
+            try {
+                for (IntelDto intel : intelAfter(game, cursor)) {
+                    listener.accept(intel);
+                    cursor = intel.timestamp();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "Could not deliver intel to player " + playerUuid + ", unsubscribing.", e);
+                close();
+            }
+        }
+
+        public Instant cursor() {
+            return cursor;
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            pendingGames.clear();
+            unsubscribe(this);
+        }
+    }
+}
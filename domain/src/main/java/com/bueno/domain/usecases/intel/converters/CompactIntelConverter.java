@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.intel.converters;
+
+import com.bueno.domain.entities.intel.PossibleAction;
+import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.intel.dtos.CardDto;
+import com.bueno.domain.usecases.intel.dtos.CompactIntelDto;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+// Cards are written as short codes such as "AH", round winners as player UUIDs and possible actions as a bitmask in
+// which bit n is set for the PossibleAction of ordinal n. Each intel is compared field by field with the intel before
+// it, or with an empty intel if there is none, and only the fields that differ are kept.
+public class CompactIntelConverter {
+
+    public static List<CompactIntelDto> toDeltas(IntelDto base, List<IntelDto> intel, long firstSequence) {
+        final List<CompactIntelDto> deltas = new ArrayList<>(intel.size());
+        Map<String, Object> previous = base == null ? Map.of() : toFields(base);
+        long sequence = firstSequence;
+        for (IntelDto current : intel) {
+            final Map<String, Object> fields = toFields(current);
+            deltas.add(new CompactIntelDto(sequence++, changesBetween(previous, fields)));
+            previous = fields;
+        }
+        return deltas;
+    }
+
+    private static Map<String, Object> changesBetween(Map<String, Object> previous, Map<String, Object> current) {
+        final Map<String, Object> changes = new LinkedHashMap<>();
+        current.forEach((field, value) -> {
+            if (!Objects.equals(previous.get(field), value)) changes.put(field, value);
+        });
+        return Collections.unmodifiableMap(changes);
+    }
+
+    private static Map<String, Object> toFields(IntelDto intel) {
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("timestamp", intel.timestamp());
+        fields.put("isGameDone", intel.isGameDone());
+        fields.put("gameWinner", intel.gameWinner());
+        fields.put("isMaoDeOnze", intel.isMaoDeOnze());
+        fields.put("handPoints", intel.handPoints());
+        fields.put("handPointsProposal", intel.handPointsProposal());
+        fields.put("roundWinners", intel.roundWinnersUuid().stream().map(winner -> winner.orElse(null)).toList());
+        fields.put("roundsPlayed", intel.roundsPlayed());
+        fields.put("vira", toCode(intel.vira()));
+        fields.put("openCards", toCodes(intel.openCards()));
+        fields.put("handWinner", intel.handWinner());
+        fields.put("currentPlayerUuid", intel.currentPlayerUuid());
+        fields.put("currentPlayerScore", intel.currentPlayerScore());
+        fields.put("currentPlayerUsername", intel.currentPlayerUsername());
+        fields.put("currentOpponentScore", intel.currentOpponentScore());
+        fields.put("currentOpponentUsername", intel.currentOpponentUsername());
+        fields.put("cardToPlayAgainst", toCode(intel.cardToPlayAgainst()));
+        fields.put("players", intel.players().stream().map(CompactIntelConverter::toFields).toList());
+        fields.put("event", intel.event());
+        fields.put("eventPlayerUuid", intel.eventPlayerUuid());
+        fields.put("eventPlayerUsername", intel.eventPlayerUsername());
+        fields.put("possibleActions", toBitmask(intel.possibleActions()));
+        return fields;
+    }
+
+    private static Map<String, Object> toFields(PlayerDto player) {
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("uuid", player.uuid());
+        fields.put("username", player.username());
+        fields.put("score", player.score());
+        fields.put("isBot", player.isBot());
+        fields.put("cards", toCodes(player.cards()));
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static String toCode(CardDto card) {
+        return Optional.ofNullable(card).map(CardDto::toString).orElse(null);
+    }
+
+    private static List<String> toCodes(List<CardDto> cards) {
+        return cards.stream().map(CardDto::toString).toList();
+    }
+
+    private static int toBitmask(Set<String> possibleActions) {
+        int bitmask = 0;
+        for (String action : possibleActions) bitmask |= 1 << PossibleAction.valueOf(action).ordinal();
+        return bitmask;
+    }
+}
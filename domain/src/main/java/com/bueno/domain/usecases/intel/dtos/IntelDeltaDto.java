@@ -0,0 +1,36 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.intel.dtos;
+
+import java.util.List;
+import java.util.Objects;
+
+// The intel after the base sequence, as deltas. The version identifies the game and the version it is stored as, and is
+// the same for every request made while the game does not change.
+public record IntelDeltaDto(String version, long baseSequence, long lastSequence, List<CompactIntelDto> intel) {
+
+    public IntelDeltaDto(String version, long baseSequence, long lastSequence, List<CompactIntelDto> intel) {
+        this.version = Objects.requireNonNull(version);
+        this.baseSequence = baseSequence;
+        this.lastSequence = lastSequence;
+        this.intel = Objects.requireNonNull(intel);
+    }
+}
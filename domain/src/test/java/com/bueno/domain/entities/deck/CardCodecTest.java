@@ -0,0 +1,84 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.deck;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class CardCodecTest {
+
+    @Test
+    @DisplayName("Should encode cards by their cache index")
+    void shouldEncodeCardsByTheirCacheIndex() {
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(CardCodec.encode(Card.closed())).as("Closed card").isZero();
+        softly.assertThat(CardCodec.encode(Card.of(Rank.FOUR, Suit.DIAMONDS))).as("First card").isEqualTo(1);
+        softly.assertThat(CardCodec.encode(Card.of(Rank.THREE, Suit.CLUBS))).as("Last card").isEqualTo(40);
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should decode every encoded card")
+    void shouldDecodeEveryEncodedCard() {
+        new Deck().take(40).forEach(card -> assertThat(CardCodec.decode(CardCodec.encode(card))).isSameAs(card));
+    }
+
+    @Test
+    @DisplayName("Should rank manilhas above all other cards")
+    void shouldRankManilhasAboveAllOtherCards() {
+        final Card vira = Card.of(Rank.SEVEN, Suit.HEARTS);
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(CardCodec.relativeValue(Card.of(Rank.QUEEN, Suit.CLUBS), vira)).isEqualTo(13);
+        softly.assertThat(CardCodec.relativeValue(Card.of(Rank.QUEEN, Suit.DIAMONDS), vira)).isEqualTo(10);
+        softly.assertThat(CardCodec.relativeValue(Card.of(Rank.THREE, Suit.CLUBS), vira)).isEqualTo(9);
+        softly.assertThat(CardCodec.relativeValue(Card.of(Rank.FOUR, Suit.CLUBS), vira)).isEqualTo(1);
+        softly.assertThat(CardCodec.relativeValue(Card.closed(), vira)).isZero();
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should not compute value of closed card as manilha")
+    void shouldNotComputeValueOfClosedCardAsManilha() {
+        assertThatIllegalStateException().isThrownBy(() -> CardCodec.relativeValue(Card.closed(), Card.closed()));
+    }
+
+    @Test
+    @DisplayName("Should find manilhas and strongest card in hand mask")
+    void shouldFindManilhasAndStrongestCardInHandMask() {
+        final Card vira = Card.of(Rank.KING, Suit.SPADES);
+        final Card zap = Card.of(Rank.ACE, Suit.CLUBS);
+        final long hand = CardCodec.toMask(List.of(Card.of(Rank.THREE, Suit.HEARTS), zap, Card.of(Rank.ACE, Suit.SPADES)));
+        final int viraRank = CardCodec.rankOf(CardCodec.encode(vira));
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(CardCodec.size(hand)).as("Hand size").isEqualTo(3);
+        softly.assertThat(CardCodec.countManilhas(hand, viraRank)).as("Manilhas").isEqualTo(2);
+        softly.assertThat(CardCodec.strongest(hand, viraRank)).as("Strongest").isEqualTo(CardCodec.encode(zap));
+        softly.assertThat(CardCodec.contains(CardCodec.remove(hand, CardCodec.encode(zap)), CardCodec.encode(zap))).isFalse();
+        softly.assertAll();
+    }
+}
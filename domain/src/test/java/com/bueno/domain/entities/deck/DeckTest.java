@@ -26,7 +26,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -89,4 +91,52 @@ class DeckTest {
         softly.assertThat(deck.size()).as("Number of remaining cards in the deck").isEqualTo(39);
         softly.assertAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should deal the same cards when shuffling with the same seed")
+    void shouldDealTheSameCardsWhenShufflingWithTheSameSeed() {
+        final Deck seeded = new Deck(new SplittableRandom(42));
+        final Deck sameSeed = new Deck(new SplittableRandom(42));
+        seeded.shuffle();
+        sameSeed.shuffle();
+        assertThat(seeded.take(40)).isEqualTo(sameSeed.take(40));
+    }
+
+    @Test
+    @DisplayName("Should keep all cards after shuffling with a seed")
+    void shouldKeepAllCardsAfterShufflingWithASeed() {
+        final Deck seeded = new Deck(new SplittableRandom(42));
+        seeded.shuffle();
+        assertThat(new HashSet<>(seeded.take(40))).isEqualTo(new HashSet<>(new Deck().take(40)));
+    }
+
+    @Test
+    @DisplayName("Should remove dealt cards from the remaining cards")
+    void shouldRemoveDealtCardsFromTheRemainingCards() {
+        deck.shuffle();
+        final Card card = deck.takeOne();
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(deck.contains(card)).as("Dealt card is in the deck").isFalse();
+        softly.assertThat(Long.bitCount(deck.remainingCards())).as("Remaining cards").isEqualTo(39);
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should have all cards again after reset")
+    void shouldHaveAllCardsAgainAfterReset() {
+        deck.shuffle();
+        deck.take(7);
+        deck.reset();
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(deck.size()).as("Deck size").isEqualTo(40);
+        softly.assertThat(Long.bitCount(deck.remainingCards())).as("Remaining cards").isEqualTo(40);
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should not take more cards than available")
+    void shouldNotTakeMoreCardsThanAvailable() {
+        deck.take(38);
+        assertThrows(IndexOutOfBoundsException.class, () -> deck.take(3));
+    }
+}
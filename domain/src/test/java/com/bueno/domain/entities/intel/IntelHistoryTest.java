@@ -0,0 +1,130 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.entities.intel;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.Rank;
+import com.bueno.domain.entities.deck.Suit;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.player.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class IntelHistoryTest {
+
+    private Hand hand;
+    private Player player1;
+    private Player player2;
+    private List<Intel> expectedHistory;
+
+    @BeforeEach
+    void setUp() {
+        player1 = Player.of(UUID.randomUUID(), "Player1");
+        player2 = Player.ofBot("DummyBot");
+        player1.setCards(new ArrayList<>(List.of(Card.of(Rank.THREE, Suit.SPADES), Card.of(Rank.KING, Suit.HEARTS),
+                Card.of(Rank.FOUR, Suit.CLUBS))));
+        player2.setCards(new ArrayList<>(List.of(Card.of(Rank.TWO, Suit.SPADES), Card.of(Rank.SEVEN, Suit.DIAMONDS),
+                Card.of(Rank.ACE, Suit.HEARTS))));
+        hand = new Hand(player1, player2, Card.of(Rank.SIX, Suit.CLUBS));
+        expectedHistory = new ArrayList<>(List.of(hand.getLastIntel()));
+    }
+
+    @Test
+    @DisplayName("Should rebuild every intel of the hand history")
+    void shouldRebuildEveryIntelOfTheHandHistory() {
+        playHand();
+        assertThat(hand.getIntelHistory()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expectedHistory);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only intel after the given timestamp")
+    void shouldRebuildOnlyIntelAfterTheGivenTimestamp() {
+        playHand();
+        final List<Intel> history = hand.getIntelHistory();
+        assertThat(hand.getIntelSince(history.get(2).timestamp()))
+                .allMatch(intel -> intel.timestamp().isAfter(history.get(2).timestamp()))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(history.stream().filter(intel -> intel.timestamp().isAfter(history.get(2).timestamp())).toList());
+        assertThat(hand.getIntelSince(hand.getLastIntel().timestamp())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild last intel after it is released")
+    void shouldRebuildLastIntelAfterItIsReleased() {
+        playHand();
+        hand.releaseLastIntel();
+        assertThat(hand.getLastIntel()).usingRecursiveComparison().isEqualTo(expectedHistory.get(expectedHistory.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should restore history from intel list")
+    void shouldRestoreHistoryFromIntelList() {
+        playHand();
+        final IntelHistory restored = new IntelHistory(expectedHistory);
+        assertThat(restored.size()).isEqualTo(expectedHistory.size());
+        assertThat(restored.toList()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expectedHistory);
+    }
+
+    @Test
+    @DisplayName("Should add intel to restored history")
+    void shouldAddIntelToRestoredHistory() {
+        playHand();
+        final IntelHistory restored = new IntelHistory(expectedHistory.subList(0, 3));
+        expectedHistory.subList(3, expectedHistory.size()).forEach(restored::add);
+        restored.release();
+
+        assertThat(restored.last()).usingRecursiveComparison().isEqualTo(expectedHistory.get(expectedHistory.size() - 1));
+        assertThat(restored.toList()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expectedHistory);
+    }
+
+    @Test
+    @DisplayName("Should not get last intel of empty history")
+    void shouldNotGetLastIntelOfEmptyHistory() {
+        assertThatIllegalStateException().isThrownBy(() -> new IntelHistory().last());
+        assertThat(new IntelHistory().toList()).isEmpty();
+    }
+
+    private void playHand() {
+        hand.raise(player1);
+        expectedHistory.add(hand.getLastIntel());
+        hand.accept(player2);
+        expectedHistory.add(hand.getLastIntel());
+        hand.playFirstCard(player1, player1.play(Card.of(Rank.THREE, Suit.SPADES)));
+        expectedHistory.add(hand.getLastIntel());
+        hand.playSecondCard(player2, player2.play(Card.of(Rank.TWO, Suit.SPADES)));
+        expectedHistory.add(hand.getLastIntel());
+        hand.playFirstCard(player1, player1.discard(Card.of(Rank.KING, Suit.HEARTS)));
+        expectedHistory.add(hand.getLastIntel());
+        hand.playSecondCard(player2, player2.play(Card.of(Rank.SEVEN, Suit.DIAMONDS)));
+        expectedHistory.add(hand.getLastIntel());
+    }
+}
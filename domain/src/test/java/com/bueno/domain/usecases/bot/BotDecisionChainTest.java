@@ -0,0 +1,89 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.deck.Rank;
+import com.bueno.domain.entities.deck.Suit;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.usecases.bot.handlers.BotAction;
+import com.bueno.domain.usecases.bot.handlers.BotDecisionChain;
+import com.bueno.spi.model.CardRank;
+import com.bueno.spi.model.CardSuit;
+import com.bueno.spi.model.CardToPlay;
+import com.bueno.spi.model.GameIntel;
+import com.bueno.spi.model.TrucoCard;
+import com.bueno.spi.service.BotServiceProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BotDecisionChainTest {
+
+    @Mock Intel intel;
+    @Mock GameIntel gameIntel;
+    @Mock BotServiceProvider botService;
+    BotDecisionChain sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = BotDecisionChain.of(botService);
+    }
+
+    @Test
+    @DisplayName("Should decide about mao de onze before anything else")
+    void shouldDecideAboutMaoDeOnzeBeforeAnythingElse() {
+        when(intel.isMaoDeOnze()).thenReturn(true);
+        when(intel.handPoints()).thenReturn(1);
+        when(botService.getMaoDeOnzeResponse(gameIntel)).thenReturn(true);
+
+        assertThat(sut.decide(intel, gameIntel)).isEqualTo(BotAction.of(BotAction.Type.ACCEPT));
+        verify(botService, never()).decideIfRaises(any());
+    }
+
+    @Test
+    @DisplayName("Should play card if bot does not want to raise")
+    void shouldPlayCardIfBotDoesNotWantToRaise() {
+        when(intel.possibleActions()).thenReturn(Set.of("PLAY", "RAISE"));
+        when(botService.decideIfRaises(gameIntel)).thenReturn(false);
+        when(botService.chooseCard(gameIntel)).thenReturn(CardToPlay.of(TrucoCard.of(CardRank.ACE, CardSuit.SPADES)));
+
+        assertThat(sut.decide(intel, gameIntel)).isEqualTo(BotAction.ofCard(Card.of(Rank.ACE, Suit.SPADES), false));
+    }
+
+    @Test
+    @DisplayName("Should accept raise request if bot wants to raise but raise is not allowed")
+    void shouldAcceptRaiseRequestIfBotWantsToRaiseButRaiseIsNotAllowed() {
+        when(intel.possibleActions()).thenReturn(Set.of("ACCEPT", "QUIT"));
+        when(botService.getRaiseResponse(gameIntel)).thenReturn(1);
+
+        assertThat(sut.decide(intel, gameIntel)).isEqualTo(BotAction.of(BotAction.Type.ACCEPT));
+    }
+}
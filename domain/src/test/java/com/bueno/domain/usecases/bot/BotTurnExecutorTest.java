@@ -0,0 +1,134 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.bot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BotTurnExecutorTest {
+
+    private BotTurnExecutor sut;
+
+    @AfterEach
+    void tearDown() {
+        if (sut != null) sut.close();
+    }
+
+    @Test
+    @DisplayName("Should not accept non positive threads or queue capacity")
+    void shouldNotAcceptNonPositiveThreadsOrQueueCapacity() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BotTurnExecutor(0, 1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BotTurnExecutor(1, 0));
+    }
+
+    @Test
+    @DisplayName("Should play turns on executor thread")
+    void shouldPlayTurnsOnExecutorThread() throws Exception {
+        sut = new BotTurnExecutor(1, 1);
+        final CompletableFuture<String> threadName = new CompletableFuture<>();
+        sut.execute(() -> threadName.complete(Thread.currentThread().getName()));
+        assertThat(threadName.get(1, TimeUnit.SECONDS)).startsWith("bot-turn-");
+    }
+
+    @Test
+    @DisplayName("Should play turn on caller thread and count it as rejected if queue is full")
+    void shouldPlayTurnOnCallerThreadAndCountItAsRejectedIfQueueIsFull() throws Exception {
+        sut = new BotTurnExecutor(1, 1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        sut.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        running.await(1, TimeUnit.SECONDS);
+        sut.execute(() -> {});
+
+        final Thread caller = Thread.currentThread();
+        final CompletableFuture<Thread> rejectedTurnThread = new CompletableFuture<>();
+        sut.execute(() -> rejectedTurnThread.complete(Thread.currentThread()));
+        release.countDown();
+
+        assertThat(rejectedTurnThread.get(1, TimeUnit.SECONDS)).isSameAs(caller);
+        assertThat(sut.stats().rejectedTurns()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count failed turns")
+    void shouldCountFailedTurns() {
+        sut = new BotTurnExecutor(1, 1);
+        sut.execute(() -> {
+            throw new IllegalStateException("Bot failed.");
+        });
+        sut.close();
+        assertThat(sut.stats().failedTurns()).isEqualTo(1);
+        assertThat(sut.stats().completedTurns()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should play failed turn again")
+    void shouldPlayFailedTurnAgain() throws Exception {
+        sut = new BotTurnExecutor(1, 1, Duration.ofMillis(1));
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<Integer> playedAtAttempt = new CompletableFuture<>();
+        sut.execute(() -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("Bot failed.");
+            playedAtAttempt.complete(attempts.get());
+        }, () -> playedAtAttempt.complete(-1));
+
+        assertThat(playedAtAttempt.get(1, TimeUnit.SECONDS)).isEqualTo(2);
+        sut.close();
+        assertThat(sut.stats().retriedTurns()).isEqualTo(1);
+        assertThat(sut.stats().failedTurns()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give up turn that fails every attempt")
+    void shouldGiveUpTurnThatFailsEveryAttempt() throws Exception {
+        sut = new BotTurnExecutor(1, 1, Duration.ofMillis(1));
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<Integer> gaveUpAfter = new CompletableFuture<>();
+        sut.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Bot failed.");
+        }, () -> gaveUpAfter.complete(attempts.get()));
+
+        assertThat(gaveUpAfter.get(1, TimeUnit.SECONDS)).isEqualTo(3);
+        assertThat(sut.stats().failedTurns()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
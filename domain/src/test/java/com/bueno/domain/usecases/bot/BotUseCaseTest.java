@@ -37,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -61,6 +62,7 @@ class BotUseCaseTest {
     @Mock CardPlayingHandler cardPlayingHandler;
     @Mock RaiseHandler raiseHandler;
     @Mock RaiseRequestHandler raiseRequestHandler;
+    @Mock BotTurnExecutor turnExecutor;
 
     @InjectMocks
     BotUseCase sut;
@@ -164,6 +166,38 @@ class BotUseCaseTest {
         assertThatNoException().isThrownBy(() -> sut.playWhenNecessary(game));
     }
 
+    @Test
+    @DisplayName("Should play bot turns on turn executor")
+    void shouldPlayBotTurnsOnTurnExecutor() {
+        sut = new BotUseCase(gameRepository, gameResultRepository, handResultRepository, turnExecutor, null);
+        sut.respondTo(game);
+        verify(turnExecutor, times(1)).execute(any(), any());
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    @DisplayName("Should not forfeit the game if the bot is no longer playing it")
+    void shouldNotForfeitTheGameIfTheBotIsNoLongerPlayingIt() {
+        sut = new BotUseCase(gameRepository, gameResultRepository, handResultRepository, turnExecutor, null);
+        final ArgumentCaptor<Runnable> giveUp = ArgumentCaptor.forClass(Runnable.class);
+        sut.respondTo(game);
+        verify(turnExecutor).execute(any(), giveUp.capture());
+
+        giveUp.getValue().run();
+        verify(gameRepository).findByPlayerUuid(player.getUuid());
+        verify(gameRepository, never()).delete(any());
+        verifyNoInteractions(gameResultRepository);
+    }
+
+    @Test
+    @DisplayName("Should not use turn executor if it is not bot turn")
+    void shouldNotUseTurnExecutorIfItIsNotBotTurn() {
+        sut = new BotUseCase(gameRepository, gameResultRepository, handResultRepository, turnExecutor, null);
+        when(player.isBot()).thenReturn(false);
+        sut.respondTo(game);
+        verifyNoInteractions(turnExecutor);
+    }
+
     @Test
     @DisplayName("Should have at least one default bot implementation of bot spi")
     void shouldHaveAtLeastOneDefaultBotImplementationOfBotSpi() {
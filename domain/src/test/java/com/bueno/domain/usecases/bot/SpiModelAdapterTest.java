@@ -92,4 +92,71 @@ class SpiModelAdapterTest {
         TrucoCard trucoCard = TrucoCard.of(CardRank.ACE, CardSuit.CLUBS);
         assertThat(SpiModelAdapter.toCard(trucoCard)).isEqualTo(Card.of(Rank.ACE, Suit.CLUBS));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should convert every card to TrucoCard and back")
+    void shouldConvertEveryCardToTrucoCardAndBack() {
+        for (int ordinal = 0; ordinal <= 40; ordinal++) {
+            final TrucoCard trucoCard = TrucoCard.ofOrdinal(ordinal);
+            final Card card = SpiModelAdapter.toCard(trucoCard);
+            assertThat(card.toString()).isEqualTo(trucoCard.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should incrementally build the same GameIntel of the full conversion")
+    void shouldIncrementallyBuildTheSameGameIntelOfTheFullConversion() {
+        final UUID p1Uuid = UUID.randomUUID();
+        final Card vira = Card.of(Rank.KING, Suit.HEARTS);
+        when(player.getUuid()).thenReturn(p1Uuid);
+        when(player.getCards()).thenReturn(List.of(Card.of(Rank.TWO, Suit.CLUBS)));
+        when(intel.vira()).thenReturn(vira);
+        when(intel.handPoints()).thenReturn(1);
+        when(intel.currentPlayerScore()).thenReturn(0);
+        when(intel.currentOpponentScore()).thenReturn(0);
+        when(intel.cardToPlayAgainst()).thenReturn(Optional.empty());
+        when(intel.roundWinnersUuid())
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(Optional.of(p1Uuid)));
+        when(intel.openCards())
+                .thenReturn(List.of(vira))
+                .thenReturn(List.of(vira))
+                .thenReturn(List.of(vira, Card.of(Rank.ACE, Suit.CLUBS), Card.of(Rank.FOUR, Suit.SPADES)));
+
+        final var builder = new SpiModelAdapter.IncrementalGameIntelBuilder();
+        final GameIntel first = builder.build(player, intel);
+        final GameIntel second = builder.build(player, intel);
+        final GameIntel third = builder.build(player, intel);
+
+        assertThat(second.getOpenCards()).isSameAs(first.getOpenCards());
+        assertThat(third.getRoundResults()).containsExactly(WON);
+        assertThat(third.getOpenCards()).containsExactly(TrucoCard.of(CardRank.KING, CardSuit.HEARTS),
+                TrucoCard.of(CardRank.ACE, CardSuit.CLUBS), TrucoCard.of(CardRank.FOUR, CardSuit.SPADES));
+        assertThat(third).isEqualTo(SpiModelAdapter.toGameIntel(player, intel));
+    }
+
+    @Test
+    @DisplayName("Should convert intel of the new hand from start")
+    void shouldConvertIntelOfTheNewHandFromStart() {
+        final Card newVira = Card.of(Rank.SEVEN, Suit.DIAMONDS);
+        when(player.getCards()).thenReturn(List.of(Card.of(Rank.TWO, Suit.CLUBS)));
+        when(intel.vira()).thenReturn(newVira);
+        when(intel.handPoints()).thenReturn(1);
+        when(intel.currentPlayerScore()).thenReturn(0);
+        when(intel.currentOpponentScore()).thenReturn(0);
+        when(intel.cardToPlayAgainst()).thenReturn(Optional.empty());
+        when(intel.roundWinnersUuid()).thenReturn(List.of());
+        when(intel.openCards())
+                .thenReturn(List.of(Card.of(Rank.KING, Suit.HEARTS)))
+                .thenReturn(List.of(newVira, Card.of(Rank.ACE, Suit.CLUBS)));
+
+        final var builder = new SpiModelAdapter.IncrementalGameIntelBuilder();
+        builder.build(player, intel);
+        builder.newHand();
+        final GameIntel newHand = builder.build(player, intel);
+
+        assertThat(newHand.getOpenCards()).containsExactly(TrucoCard.of(CardRank.SEVEN, CardSuit.DIAMONDS),
+                TrucoCard.of(CardRank.ACE, CardSuit.CLUBS));
+    }
+}
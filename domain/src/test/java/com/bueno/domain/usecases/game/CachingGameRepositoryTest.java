@@ -0,0 +1,269 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.game.repos.CachingGameRepository;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingGameRepositoryTest {
+
+    @Mock private GameRepository delegate;
+
+    private CachingGameRepository sut;
+    private Player player;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        sut = new CachingGameRepository(delegate, Duration.ofHours(1), 1, Duration.ofHours(1));
+        player = Player.of(UUID.randomUUID(), "User");
+        game = new Game(player, Player.ofBot("DummyBot"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should write new games through and read them from memory")
+    void shouldWriteNewGamesThroughAndReadThemFromMemory() {
+        final GameDto dto = GameConverter.toDto(game);
+        sut.save(dto);
+
+        assertThat(sut.findByPlayerUuid(player.getUuid())).contains(dto);
+        verify(delegate).save(dto);
+        verify(delegate, never()).findByPlayerUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should load game from delegate only once")
+    void shouldLoadGameFromDelegateOnlyOnce() {
+        final GameDto dto = GameConverter.toDto(game);
+        when(delegate.findByPlayerUuid(player.getUuid())).thenReturn(Optional.of(dto));
+
+        sut.findByPlayerUuid(player.getUuid());
+        sut.findByPlayerUuid(player.getUuid());
+
+        verify(delegate, times(1)).findByPlayerUuid(player.getUuid());
+    }
+
+    @Test
+    @DisplayName("Should find game version without loading the game")
+    void shouldFindGameVersionWithoutLoadingTheGame() {
+        final GameVersionDto version = new GameVersionDto(game.getUuid(), 3);
+        when(delegate.findVersionByPlayerUuid(player.getUuid())).thenReturn(Optional.of(version));
+
+        assertThat(sut.findVersionByPlayerUuid(player.getUuid())).contains(version);
+        verify(delegate, never()).findByPlayerUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should find version of cached game in memory")
+    void shouldFindVersionOfCachedGameInMemory() {
+        sut.save(GameConverter.toDto(game));
+        sut.update(GameConverter.toDto(game));
+
+        assertThat(sut.findVersionByPlayerUuid(player.getUuid())).contains(new GameVersionDto(game.getUuid(), 1));
+        verify(delegate, never()).findVersionByPlayerUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should keep updates in memory until they are flushed")
+    void shouldKeepUpdatesInMemoryUntilTheyAreFlushed() {
+        sut.save(GameConverter.toDto(game));
+        final GameDto updated = GameConverter.toDto(game);
+
+        sut.update(updated);
+        assertThat(sut.findByPlayerUuid(player.getUuid())).contains(updated.withVersion(1));
+        verify(delegate, never()).update(any(), anyLong());
+
+        sut.flushDirtyGames();
+        verify(delegate).update(updated.withVersion(1), 0L);
+    }
+
+    @Test
+    @DisplayName("Should flush the game itself if the dirty queue is full")
+    void shouldFlushTheGameItselfIfTheDirtyQueueIsFull() {
+        final Game otherGame = new Game(Player.of(UUID.randomUUID(), "Other"), Player.ofBot("DummyBot"));
+        sut.save(GameConverter.toDto(game));
+        sut.save(GameConverter.toDto(otherGame));
+
+        sut.update(GameConverter.toDto(game));
+        final GameDto otherUpdated = GameConverter.toDto(otherGame);
+        sut.update(otherUpdated);
+
+        verify(delegate).update(otherUpdated.withVersion(1), 0L);
+    }
+
+    @Test
+    @DisplayName("Should flush a dirty game when a hand ends")
+    void shouldFlushADirtyGameWhenAHandEnds() {
+        sut.save(GameConverter.toDto(game));
+        sut.update(GameConverter.toDto(game));
+        game.prepareNewHand();
+        final GameDto newHand = GameConverter.toDto(game).withVersion(1);
+
+        sut.update(newHand);
+        verify(delegate, timeout(1000)).update(newHand.withVersion(2), 0L);
+    }
+
+    @Test
+    @DisplayName("Should keep game dirty if it can not be flushed")
+    void shouldKeepGameDirtyIfItCanNotBeFlushed() {
+        sut.save(GameConverter.toDto(game));
+        final GameDto updated = GameConverter.toDto(game);
+        doThrow(new IllegalStateException("Unavailable")).doNothing().when(delegate).update(updated.withVersion(1), 0L);
+
+        sut.update(updated);
+        sut.flushDirtyGames();
+        sut.flushDirtyGames();
+
+        verify(delegate, times(2)).update(updated.withVersion(1), 0L);
+        assertThat(sut.findByPlayerUuid(player.getUuid())).contains(updated.withVersion(1));
+        verify(delegate, never()).findByPlayerUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should throw if the game has been updated since it was read")
+    void shouldThrowIfTheGameHasBeenUpdatedSinceItWasRead() {
+        sut.save(GameConverter.toDto(game));
+        final GameDto staleRead = sut.findByPlayerUuid(player.getUuid()).orElseThrow();
+        sut.update(GameConverter.toDto(game));
+        sut.findByPlayerUuid(player.getUuid());
+
+        assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> sut.update(staleRead));
+    }
+
+    @Test
+    @DisplayName("Should flush games with their cached version")
+    void shouldFlushGamesWithTheirCachedVersion() {
+        sut.save(GameConverter.toDto(game));
+        sut.update(GameConverter.toDto(game));
+        sut.update(GameConverter.toDto(game).withVersion(1));
+        sut.flushDirtyGames();
+        final GameDto updated = GameConverter.toDto(game).withVersion(2);
+        sut.update(updated);
+        sut.flushDirtyGames();
+
+        verify(delegate).update(updated, 0L);
+        verify(delegate).update(updated.withVersion(3), 2L);
+    }
+
+    @Test
+    @DisplayName("Should go on from the cached version after an evicted game is read again")
+    void shouldGoOnFromTheCachedVersionAfterAnEvictedGameIsReadAgain() throws InterruptedException {
+        final GameRepository stored = spy(new GameRepositoryInMemoryImpl());
+        try (CachingGameRepository evicting = new CachingGameRepository(stored, Duration.ofHours(1), 1,
+                Duration.ofMillis(10))) {
+            evicting.save(GameConverter.toDto(game));
+            evicting.update(GameConverter.toDto(game));
+            evicting.update(GameConverter.toDto(game).withVersion(1));
+            evicting.flushDirtyGames();
+            Thread.sleep(200);
+
+            final GameDto reloaded = evicting.findByPlayerUuid(player.getUuid()).orElseThrow();
+            verify(stored).findByPlayerUuid(player.getUuid());
+            assertThat(reloaded.version()).isEqualTo(2);
+
+            evicting.update(reloaded);
+            assertThat(evicting.findVersionByPlayerUuid(player.getUuid()))
+                    .contains(new GameVersionDto(game.getUuid(), 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Should remove deleted games from memory")
+    void shouldRemoveDeletedGamesFromMemory() {
+        sut.save(GameConverter.toDto(game));
+        sut.delete(game.getUuid());
+
+        assertThat(sut.findByPlayerUuid(player.getUuid())).isEmpty();
+        verify(delegate).delete(game.getUuid());
+    }
+
+    @Test
+    @DisplayName("Should flush pending updates on close")
+    void shouldFlushPendingUpdatesOnClose() {
+        sut.save(GameConverter.toDto(game));
+        final GameDto updated = GameConverter.toDto(game);
+        sut.update(updated);
+
+        sut.close();
+        verify(delegate).update(updated.withVersion(1), 0L);
+    }
+
+    @Test
+    @DisplayName("Should write updates through in write-through mode")
+    void shouldWriteUpdatesThroughInWriteThroughMode() {
+        try (CachingGameRepository writeThrough = new CachingGameRepository(delegate, Duration.ofHours(1), 1,
+                Duration.ofHours(1), true)) {
+            writeThrough.save(GameConverter.toDto(game));
+            final GameDto updated = GameConverter.toDto(game);
+            writeThrough.update(updated);
+
+            verify(delegate).update(updated.withVersion(1), 0L);
+            assertThat(writeThrough.findByPlayerUuid(player.getUuid())).contains(updated.withVersion(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read game again after a stale update in write-through mode")
+    void shouldReadGameAgainAfterAStaleUpdateInWriteThroughMode() {
+        try (CachingGameRepository writeThrough = new CachingGameRepository(delegate, Duration.ofHours(1), 1,
+                Duration.ofHours(1), true)) {
+            final GameDto stored = GameConverter.toDto(game);
+            writeThrough.save(stored);
+            final GameDto stale = GameConverter.toDto(game);
+            doThrow(new StaleGameException("Stale game")).when(delegate).update(stale.withVersion(1), 0L);
+            when(delegate.findByPlayerUuid(player.getUuid())).thenReturn(Optional.of(stored));
+
+            assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> writeThrough.update(stale));
+            assertThat(writeThrough.findByPlayerUuid(player.getUuid())).contains(stored);
+            verify(delegate).findByPlayerUuid(player.getUuid());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.deck.Card;
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.intel.PossibleAction;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import com.bueno.domain.usecases.game.repos.EventSourcedGameRepository;
+import com.bueno.domain.usecases.game.repos.GameEventStoreInMemoryImpl;
+import com.bueno.domain.usecases.utils.exceptions.EntityNotFoundException;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.bueno.domain.entities.intel.PossibleAction.RAISE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class EventSourcedGameRepositoryTest {
+
+    private GameEventStoreInMemoryImpl store;
+    private EventSourcedGameRepository sut;
+    private Random random;
+    private Game game;
+    private long version;
+    private UUID playerUuid;
+
+    @BeforeEach
+    void setUp() {
+        store = new GameEventStoreInMemoryImpl();
+        sut = new EventSourcedGameRepository(store, 2);
+        random = new Random();
+        playerUuid = UUID.randomUUID();
+        game = new Game(Player.of(playerUuid, "User"), Player.of(UUID.randomUUID(), "Other"));
+        sut.save(GameConverter.toDto(game));
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Should load the same game it has updated move by move")
+    void shouldLoadTheSameGameItHasUpdatedMoveByMove() {
+        while (!game.isDone()) {
+            playMove();
+            update(sut);
+            assertSameGame(sut.findByPlayerUuid(playerUuid).orElseThrow(), GameConverter.toDto(game));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write a snapshot every given number of hands")
+    void shouldWriteSnapshotEveryGivenNumberOfHands() {
+        // Without raises, every hand but the mao de onze ones is worth a single point, so the game lasts five hands
+        while (game.getHands().size() < 5) {
+            playMoveWithoutRaising();
+            update(sut);
+        }
+        final GameEventLogDto log = store.findByGameUuid(game.getUuid()).orElseThrow();
+        assertThat(log.snapshot().hands()).hasSize(4);
+        assertThat(log.batches()).isNotEmpty().hasSizeLessThan((int) log.version());
+    }
+
+    @Test
+    @DisplayName("Should write only a few bytes for each move")
+    void shouldWriteOnlyFewBytesForEachMove() {
+        while (!game.isDone() && game.getHands().size() < 3) {
+            playMove();
+            update(sut);
+        }
+        final List<byte[]> batches = store.findByGameUuid(game.getUuid()).orElseThrow().batches();
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.length).isBetween(1, 32));
+    }
+
+    @Test
+    @DisplayName("Should not write events for updates without new moves")
+    void shouldNotWriteEventsForUpdatesWithoutNewMoves() {
+        update(sut);
+        final GameEventLogDto log = store.findByGameUuid(game.getUuid()).orElseThrow();
+        assertThat(log.batches()).isEmpty();
+        assertThat(log.version()).isOne();
+        assertThat(sut.findByPlayerUuid(playerUuid).orElseThrow().version()).isOne();
+    }
+
+    @Test
+    @DisplayName("Should append after moves written by another repository")
+    void shouldAppendAfterMovesWrittenByAnotherRepository() {
+        final EventSourcedGameRepository other = new EventSourcedGameRepository(store, 2);
+        for (int move = 0; move < 6 && !game.isDone(); move++) {
+            final EventSourcedGameRepository repository = move % 2 == 0 ? sut : other;
+            repository.findByPlayerUuid(playerUuid);
+            playMove();
+            update(repository);
+        }
+        assertSameGame(sut.findByPlayerUuid(playerUuid).orElseThrow(), GameConverter.toDto(game));
+    }
+
+    @Test
+    @DisplayName("Should throw if the update does not follow the written game")
+    void shouldThrowIfUpdateDoesNotFollowWrittenGame() {
+        final GameDto initialState = GameConverter.toDto(game);
+        playMove();
+        final GameDto written = GameConverter.toDto(game);
+        sut.update(written);
+
+        assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> sut.update(initialState));
+        assertSameGame(sut.findByPlayerUuid(playerUuid).orElseThrow(), written);
+    }
+
+    @Test
+    @DisplayName("Should throw if another repository has updated the game since it was read")
+    void shouldThrowIfAnotherRepositoryHasUpdatedTheGameSinceItWasRead() {
+        final EventSourcedGameRepository other = new EventSourcedGameRepository(store, 2);
+        other.findByPlayerUuid(playerUuid);
+        playMove();
+        sut.update(GameConverter.toDto(game));
+
+        assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> other.update(GameConverter.toDto(game)));
+    }
+
+    @Test
+    @DisplayName("Should throw if the game has been updated since it was read even if it has been read again")
+    void shouldThrowIfTheGameHasBeenUpdatedSinceItWasReadEvenIfItHasBeenReadAgain() {
+        final GameDto staleRead = sut.findByPlayerUuid(playerUuid).orElseThrow();
+        playMove();
+        update(sut);
+        sut.findByPlayerUuid(playerUuid);
+        playMove();
+
+        assertThatExceptionOfType(StaleGameException.class)
+                .isThrownBy(() -> sut.update(GameConverter.toDto(game).withVersion(staleRead.version())));
+    }
+
+    @Test
+    @DisplayName("Should throw if updating a game that does not exist")
+    void shouldThrowIfUpdatingGameThatDoesNotExist() {
+        sut.delete(game.getUuid());
+        playMove();
+        assertThatExceptionOfType(EntityNotFoundException.class)
+                .isThrownBy(() -> sut.update(GameConverter.toDto(game)));
+    }
+
+    private void update(EventSourcedGameRepository repository) {
+        repository.update(GameConverter.toDto(game).withVersion(version++));
+    }
+
+    private void playMove() {
+        playMove(List.copyOf(game.currentHand().getPossibleActions()));
+    }
+
+    private void playMoveWithoutRaising() {
+        playMove(game.currentHand().getPossibleActions().stream().filter(action -> action != RAISE).toList());
+    }
+
+    private void playMove(List<PossibleAction> actions) {
+        final Hand hand = game.currentHand();
+        final Player player = hand.getCurrentPlayer();
+        switch (actions.get(random.nextInt(actions.size()))) {
+            case PLAY -> {
+                final Card card = player.getCards().get(random.nextInt(player.getCards().size()));
+                final boolean discard = hand.numberOfRoundsPlayed() > 0 && random.nextBoolean();
+                final Card playedCard = discard ? player.discard(card) : player.play(card);
+                if (hand.getCardToPlayAgainst().isEmpty()) hand.playFirstCard(player, playedCard);
+                else hand.playSecondCard(player, playedCard);
+            }
+            case RAISE -> hand.raise(player);
+            case ACCEPT -> hand.accept(player);
+            case QUIT -> hand.quit(player);
+        }
+        if (hand.getResult().isPresent()) {
+            game.updateScores();
+            if (!game.isDone()) game.prepareNewHand();
+        }
+    }
+
+    private void assertSameGame(GameDto actual, GameDto expected) {
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(actual.player1()).as("Player 1").isEqualTo(expected.player1());
+        softly.assertThat(actual.player2()).as("Player 2").isEqualTo(expected.player2());
+        softly.assertThat(actual.hands()).as("Number of hands").hasSameSizeAs(expected.hands());
+        for (int i = 0; i < Math.min(actual.hands().size(), expected.hands().size()); i++) {
+            softly.assertThat(actual.hands().get(i).history()).as("History of hand " + i)
+                    .isEqualTo(expected.hands().get(i).history());
+            softly.assertThat(actual.hands().get(i).state()).as("State of hand " + i)
+                    .isEqualTo(expected.hands().get(i).state());
+            softly.assertThat(actual.hands().get(i).openCards()).as("Open cards of hand " + i)
+                    .isEqualTo(expected.hands().get(i).openCards());
+        }
+        softly.assertAll();
+    }
+}
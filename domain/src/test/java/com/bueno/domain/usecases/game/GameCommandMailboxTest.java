@@ -0,0 +1,136 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
+import com.bueno.domain.usecases.game.service.GameCommandMailbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GameCommandMailboxTest {
+
+    private GameCommandMailbox sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new GameCommandMailbox(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    @DisplayName("Should not accept non positive number of shards")
+    void shouldNotAcceptNonPositiveNumberOfShards() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new GameCommandMailbox(0));
+    }
+
+    @Test
+    @DisplayName("Should run commands of the same game one at a time")
+    void shouldRunCommandsOfTheSameGameOneAtATime() {
+        final UUID gameUuid = UUID.randomUUID();
+        final int[] counter = new int[1];
+
+        IntStream.range(0, 1_000).parallel().forEach(i -> sut.execute(gameUuid, () -> counter[0]++));
+
+        assertThat(counter[0]).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Should run commands of games in different shards in parallel")
+    void shouldRunCommandsOfGamesInDifferentShardsInParallel() throws Exception {
+        final UUID game = UUID.randomUUID();
+        UUID otherGame = UUID.randomUUID();
+        while (Math.floorMod(otherGame.hashCode(), 2) == Math.floorMod(game.hashCode(), 2)) otherGame = UUID.randomUUID();
+        final UUID gameInOtherShard = otherGame;
+        final CountDownLatch otherGameRunning = new CountDownLatch(1);
+
+        final CompletableFuture<Boolean> waited = CompletableFuture.supplyAsync(() -> sut.execute(game, () -> {
+            try {
+                return otherGameRunning.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }));
+        sut.execute(gameInOtherShard, () -> {
+            otherGameRunning.countDown();
+            return null;
+        });
+
+        assertThat(waited.get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run command issued by a command of the same game right away")
+    void shouldRunCommandIssuedByACommandOfTheSameGameRightAway() {
+        final UUID gameUuid = UUID.randomUUID();
+        assertThat(sut.execute(gameUuid, () -> sut.execute(gameUuid, () -> "nested"))).isEqualTo("nested");
+    }
+
+    @Test
+    @DisplayName("Should throw the exception thrown by the command")
+    void shouldThrowTheExceptionThrownByTheCommand() {
+        assertThatIllegalStateException().isThrownBy(() -> sut.execute(UUID.randomUUID(), () -> {
+            throw new IllegalStateException("Invalid command.");
+        })).withMessage("Invalid command.");
+    }
+
+    @Test
+    @DisplayName("Should run command of player without game right away")
+    void shouldRunCommandOfPlayerWithoutGameRightAway() {
+        final Thread caller = Thread.currentThread();
+        final Thread runner = sut.executeForPlayer(new GameRepositoryInMemoryImpl(), UUID.randomUUID(), Thread::currentThread);
+        assertThat(runner).isSameAs(caller);
+    }
+
+    @Test
+    @DisplayName("Should find mailbox of player without reading the game")
+    void shouldFindMailboxOfPlayerWithoutReadingTheGame() {
+        final GameRepository repo = mock(GameRepository.class);
+        final UUID playerUuid = UUID.randomUUID();
+        final GameVersionDto version = new GameVersionDto(UUID.randomUUID(), 0);
+        when(repo.findVersionByPlayerUuid(playerUuid)).thenReturn(Optional.of(version));
+
+        final Thread runner = sut.executeForPlayer(repo, playerUuid, Thread::currentThread);
+
+        assertThat(runner.getName()).startsWith("game-mailbox-");
+        verify(repo, never()).findByPlayerUuid(any());
+    }
+}
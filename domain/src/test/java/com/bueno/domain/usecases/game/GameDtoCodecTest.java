@@ -0,0 +1,122 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.converter.GameDtoCodec;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.service.SimulationEngine;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.logging.LogManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class GameDtoCodecTest {
+
+    @BeforeAll
+    static void init() {
+        LogManager.getLogManager().reset();
+    }
+
+    @Test
+    @DisplayName("Should decode a new game")
+    void shouldDecodeNewGame() {
+        final GameDto game = newBotGame();
+        assertThat(GameDtoCodec.decode(GameDtoCodec.encode(game))).usingRecursiveComparison().isEqualTo(game);
+    }
+
+    @Test
+    @DisplayName("Should decode a game waiting for a raise response")
+    void shouldDecodeGameWaitingForRaiseResponse() {
+        final Game game = new Game(Player.of(UUID.randomUUID(), "User"), Player.of(UUID.randomUUID(), "Other"));
+        final Hand hand = game.currentHand();
+        final Player player = hand.getCurrentPlayer();
+        hand.playFirstCard(player, player.play(player.getCards().get(0)));
+        hand.raise(hand.getCurrentPlayer());
+
+        final GameDto dto = GameConverter.toDto(game);
+        assertThat(GameDtoCodec.decode(GameDtoCodec.encode(dto))).usingRecursiveComparison().isEqualTo(dto);
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Should decode finished bot games with the full history of their hands")
+    void shouldDecodeFinishedBotGames() {
+        final Game game = new SimulationEngine().play(new Game(Player.ofBot("DummyBot"), Player.ofBot("PaulistaBot")));
+        final GameDto dto = GameConverter.toDto(game);
+        assertThat(GameDtoCodec.decode(GameDtoCodec.encode(dto))).usingRecursiveComparison().isEqualTo(dto);
+    }
+
+    @Test
+    @DisplayName("Should write intel entries as small delta records")
+    void shouldWriteIntelEntriesAsSmallDeltaRecords() {
+        final Game game = new SimulationEngine().play(new Game(Player.ofBot("DummyBot"), Player.ofBot("DummyBot")));
+        final GameDto dto = GameConverter.toDto(game);
+        final long intelEntries = dto.hands().stream().mapToLong(hand -> hand.history().size()).sum();
+        assertThat(GameDtoCodec.encode(dto).length).isLessThan(64 * intelEntries);
+    }
+
+    @Test
+    @DisplayName("Should read the games written to the same stream")
+    void shouldReadTheGamesWrittenToTheSameStream() throws IOException {
+        final GameDto first = newBotGame();
+        final GameDto second = newBotGame();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        GameDtoCodec.writeTo(first, output);
+        GameDtoCodec.writeTo(second, output);
+
+        final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        assertThat(GameDtoCodec.readFrom(input)).usingRecursiveComparison().isEqualTo(first);
+        assertThat(GameDtoCodec.readFrom(input)).usingRecursiveComparison().isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Should not decode unsupported versions")
+    void shouldNotDecodeUnsupportedVersions() {
+        final byte[] bytes = GameDtoCodec.encode(newBotGame());
+        bytes[0] = GameDtoCodec.VERSION + 1;
+        assertThatIllegalArgumentException().isThrownBy(() -> GameDtoCodec.decode(bytes));
+    }
+
+    @Test
+    @DisplayName("Should not decode truncated games")
+    void shouldNotDecodeTruncatedGames() {
+        final byte[] bytes = GameDtoCodec.encode(newBotGame());
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThatIllegalArgumentException().isThrownBy(() -> GameDtoCodec.decode(truncated));
+    }
+
+    private GameDto newBotGame() {
+        return GameConverter.toDto(new Game(Player.ofBot("DummyBot"), Player.ofBot("DummyBot")));
+    }
+}
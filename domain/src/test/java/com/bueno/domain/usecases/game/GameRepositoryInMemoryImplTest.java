@@ -0,0 +1,140 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class GameRepositoryInMemoryImplTest {
+
+    private GameRepositoryInMemoryImpl sut;
+    private Player player;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        sut = new GameRepositoryInMemoryImpl();
+        player = Player.of(UUID.randomUUID(), "User");
+        game = new Game(player, Player.ofBot("DummyBot"));
+    }
+
+    @Test
+    @DisplayName("Should find saved game by any of its players")
+    void shouldFindSavedGameByAnyOfItsPlayers() {
+        final GameDto dto = GameConverter.toDto(game);
+        sut.save(dto);
+
+        assertThat(sut.findByPlayerUuid(dto.player1().uuid())).contains(dto);
+        assertThat(sut.findByPlayerUuid(dto.player2().uuid())).contains(dto);
+        assertThat(sut.findByPlayerUuid(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should update only saved games")
+    void shouldUpdateOnlySavedGames() {
+        sut.update(GameConverter.toDto(game));
+        assertThat(sut.findByPlayerUuid(player.getUuid())).isEmpty();
+
+        sut.save(GameConverter.toDto(game));
+        final GameDto updated = GameConverter.toDto(game);
+        sut.update(updated);
+        assertThat(sut.findByPlayerUuid(player.getUuid())).contains(updated.withVersion(1));
+    }
+
+    @Test
+    @DisplayName("Should throw if the game has been updated since it was read")
+    void shouldThrowIfTheGameHasBeenUpdatedSinceItWasRead() {
+        sut.save(GameConverter.toDto(game));
+        final GameDto staleRead = sut.findByPlayerUuid(player.getUuid()).orElseThrow();
+        sut.update(GameConverter.toDto(game));
+        sut.findByPlayerUuid(player.getUuid());
+
+        assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> sut.update(staleRead));
+    }
+
+    @Test
+    @DisplayName("Should remove deleted games from player index")
+    void shouldRemoveDeletedGamesFromPlayerIndex() {
+        final GameDto dto = GameConverter.toDto(game);
+        sut.save(dto);
+        sut.delete(dto.gameUuid());
+
+        assertThat(sut.findByPlayerUuid(dto.player1().uuid())).isEmpty();
+        assertThat(sut.findByPlayerUuid(dto.player2().uuid())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not remove index of newer game of the same player")
+    void shouldNotRemoveIndexOfNewerGameOfTheSamePlayer() {
+        final GameDto first = GameConverter.toDto(game);
+        final GameDto second = GameConverter.toDto(new Game(player, Player.ofBot("DummyBot")));
+        sut.save(first);
+        sut.save(second);
+        sut.delete(first.gameUuid());
+
+        assertThat(sut.findByPlayerUuid(player.getUuid())).contains(second);
+    }
+
+    @Test
+    @DisplayName("Should return current player of games inactive for the given minutes")
+    void shouldReturnCurrentPlayerOfGamesInactiveForTheGivenMinutes() {
+        sut.save(GameConverter.toDto(game));
+        final UUID currentPlayer = game.currentHand().getCurrentPlayer().getUuid();
+
+        assertThat(sut.findAllInactiveAfter(0)).containsExactly(currentPlayer);
+        assertThat(sut.findAllInactiveAfter(60)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep index consistent under concurrent saves and deletes")
+    void shouldKeepIndexConsistentUnderConcurrentSavesAndDeletes() {
+        final List<GameDto> games = IntStream.range(0, 200)
+                .mapToObj(i -> GameConverter.toDto(new Game(Player.of(UUID.randomUUID(), "User" + i), Player.ofBot("DummyBot"))))
+                .toList();
+
+        games.parallelStream().forEach(sut::save);
+        games.parallelStream().filter(dto -> games.indexOf(dto) % 2 == 0).map(GameDto::gameUuid).forEach(sut::delete);
+
+        games.forEach(dto -> assertThat(sut.findByPlayerUuid(dto.player1().uuid()).isPresent())
+                .isEqualTo(games.indexOf(dto) % 2 != 0));
+    }
+
+    @Test
+    @DisplayName("Should not accept non positive number of lock stripes")
+    void shouldNotAcceptNonPositiveNumberOfLockStripes() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new GameRepositoryInMemoryImpl(0));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.dtos.GameResultDto;
+import com.bueno.domain.usecases.game.dtos.PlayerWinsDto;
+import com.bueno.domain.usecases.game.dtos.UserWinsDto;
+import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.repos.LeaderboardGameResultRepository;
+import com.bueno.domain.usecases.user.UserRepository;
+import com.bueno.domain.usecases.user.dtos.ApplicationUserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardGameResultRepositoryTest {
+
+    @Mock private GameResultRepository delegate;
+    @Mock private UserRepository userRepository;
+
+    private UUID user1;
+    private UUID user2;
+
+    @BeforeEach
+    void setUp() {
+        user1 = UUID.randomUUID();
+        user2 = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should rank users loaded at startup by wins")
+    void shouldRankUsersLoadedAtStartupByWins() {
+        when(delegate.findWinsOfAllUsers()).thenReturn(List.of(
+                new UserWinsDto(user1, "User 1", 2), new UserWinsDto(user2, "User 2", 5)));
+        final var sut = new LeaderboardGameResultRepository(delegate, userRepository);
+
+        assertThat(sut.findTopWinners(2)).containsExactly(new PlayerWinsDto("User 2", 5), new PlayerWinsDto("User 1", 2));
+        assertThat(sut.findTopWinners(1)).containsExactly(new PlayerWinsDto("User 2", 5));
+        verify(delegate, never()).findTopWinners(any());
+    }
+
+    @Test
+    @DisplayName("Should count wins of saved results")
+    void shouldCountWinsOfSavedResults() {
+        when(delegate.findWinsOfAllUsers()).thenReturn(List.of(new UserWinsDto(user1, "User 1", 1)));
+        when(userRepository.findByUuid(user2)).thenReturn(Optional.of(new ApplicationUserDto(user2, "User 2", "", "")));
+        final var sut = new LeaderboardGameResultRepository(delegate, userRepository);
+
+        final GameResultDto result = resultWonBy(user2);
+        sut.save(result);
+        sut.save(resultWonBy(user2));
+
+        verify(delegate).save(result);
+        verify(userRepository, times(1)).findByUuid(user2);
+        assertThat(sut.findTopWinners(5)).containsExactly(new PlayerWinsDto("User 2", 2), new PlayerWinsDto("User 1", 1));
+    }
+
+    @Test
+    @DisplayName("Should not rank winners that are not users")
+    void shouldNotRankWinnersThatAreNotUsers() {
+        when(delegate.findWinsOfAllUsers()).thenReturn(List.of());
+        when(userRepository.findByUuid(any())).thenReturn(Optional.empty());
+        final var sut = new LeaderboardGameResultRepository(delegate, userRepository);
+
+        sut.save(resultWonBy(UUID.randomUUID()));
+
+        assertThat(sut.findTopWinners(5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should take in wins and usernames changed elsewhere on refresh")
+    void shouldTakeInWinsAndUsernamesChangedElsewhereOnRefresh() {
+        when(delegate.findWinsOfAllUsers()).thenReturn(
+                List.of(new UserWinsDto(user1, "User 1", 3)),
+                List.of(new UserWinsDto(user1, "Renamed", 3), new UserWinsDto(user2, "User 2", 4)));
+        final var sut = new LeaderboardGameResultRepository(delegate, userRepository);
+
+        sut.refresh();
+
+        assertThat(sut.findTopWinners(5))
+                .containsExactly(new PlayerWinsDto("User 2", 4), new PlayerWinsDto("Renamed", 3));
+    }
+
+    private GameResultDto resultWonBy(UUID winner) {
+        return new GameResultDto(UUID.randomUUID(), LocalDateTime.now().minusMinutes(5), LocalDateTime.now(),
+                winner, user1, 12, user2, 3);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.hand.Hand;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.bot.BotUseCase;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.repos.GameRepoDisposableImpl;
+import com.bueno.domain.usecases.game.service.SimulationEngine;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.UUID;
+import java.util.logging.LogManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class SimulationEngineTest {
+
+    @BeforeAll
+    static void init() {
+        LogManager.getLogManager().reset();
+    }
+
+    @Test
+    @DisplayName("Should not accept null game")
+    void shouldNotAcceptNullGame() {
+        assertThatNullPointerException().isThrownBy(() -> new SimulationEngine().play(null));
+    }
+
+    @Test
+    @DisplayName("Should not play for a user that is not a bot")
+    void shouldNotPlayForUserThatIsNotBot() {
+        final Game game = new Game(Player.of(UUID.randomUUID(), "User"), Player.ofBot("DummyBot"));
+        assertThatIllegalStateException().isThrownBy(() -> new SimulationEngine().play(game));
+    }
+
+    @RepeatedTest(10)
+    @DisplayName("Should play bot games until one of the bots wins")
+    void shouldPlayBotGamesUntilOneOfTheBotsWins() {
+        final Game game = new SimulationEngine().play(new Game(Player.ofBot("DummyBot"), Player.ofBot("DummyBot")));
+        final Player winner = game.getWinner().orElseThrow();
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(game.isDone()).as("Game is done").isTrue();
+        softly.assertThat(winner.getScore()).as("Winner score").isEqualTo(Player.MAX_SCORE);
+        softly.assertThat(game.getIntel().gameWinner()).as("Game winner intel").contains(winner.getUuid());
+        softly.assertAll();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"DummyBot,DummyBot", "DummyBot,MineiroByBueno", "MineiroByBueno,PaulistaBot", "PaulistaBot,DummyBot"})
+    @DisplayName("Should reach the same hand outcome as the bot use case")
+    void shouldReachTheSameHandOutcomeAsTheBotUseCase(String bot1, String bot2) {
+        final GameDto initialState = GameConverter.toDto(new Game(Player.ofBot(bot1), Player.ofBot(bot2)));
+
+        final Game simulated = new SimulationEngine().play(GameConverter.fromDto(initialState));
+
+        final var repo = new GameRepoDisposableImpl();
+        repo.save(initialState);
+        new BotUseCase(repo).playWhenNecessary(GameConverter.fromDto(initialState));
+        final Game played = repo.findByPlayerUuid(initialState.player1().uuid()).map(GameConverter::fromDto).orElseThrow();
+
+        final Hand simulatedHand = simulated.getHands().get(0);
+        final Hand playedHand = played.getHands().get(0);
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(simulatedHand.getOpenCards()).as("Open cards").isEqualTo(playedHand.getOpenCards());
+        softly.assertThat(simulatedHand.getPoints()).as("Hand points").isEqualTo(playedHand.getPoints());
+        softly.assertThat(simulatedHand.getResult()).as("Hand result").isEqualTo(playedHand.getResult());
+        softly.assertAll();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.service.StaleGameRetryPolicy;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class StaleGameRetryPolicyTest {
+
+    private StaleGameRetryPolicy sut;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        sut = new StaleGameRetryPolicy(2, Duration.ZERO);
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should not accept negative number of retries")
+    void shouldNotAcceptNegativeNumberOfRetries() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new StaleGameRetryPolicy(-1, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should run command again while the game is stale")
+    void shouldRunCommandAgainWhileTheGameIsStale() {
+        final String result = sut.execute(() -> {
+            if (attempts.incrementAndGet() < 3) throw new StaleGameException("Stale game");
+            return "Done";
+        });
+
+        assertThat(result).isEqualTo("Done");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should throw if the game is still stale after the last retry")
+    void shouldThrowIfTheGameIsStillStaleAfterTheLastRetry() {
+        assertThatExceptionOfType(StaleGameException.class).isThrownBy(() -> sut.execute(() -> {
+            attempts.incrementAndGet();
+            throw new StaleGameException("Stale game");
+        }));
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not run command again if it fails for other reasons")
+    void shouldNotRunCommandAgainIfItFailsForOtherReasons() {
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Invalid command");
+        }));
+        assertThat(attempts).hasValue(1);
+    }
+}
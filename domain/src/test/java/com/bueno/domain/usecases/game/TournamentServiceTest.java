@@ -0,0 +1,85 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.dtos.TournamentProgressDto;
+import com.bueno.domain.usecases.game.service.TournamentService;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.LogManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class TournamentServiceTest {
+
+    @BeforeAll
+    static void init() {
+        LogManager.getLogManager().reset();
+    }
+
+    @Test
+    @DisplayName("Should not accept non positive number of games per pairing")
+    void shouldNotAcceptNonPositiveNumberOfGamesPerPairing() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                new TournamentService(ForkJoinPool.commonPool(), 0, false, progress -> {}));
+    }
+
+    @Test
+    @DisplayName("Should rank every bot against all the others")
+    void shouldRankEveryBotAgainstAllTheOthers() {
+        final List<String> bots = List.of("DummyBot", "MineiroByBueno", "PaulistaBot");
+        final var sut = new TournamentService(new ForkJoinPool(2), 3, false, progress -> {});
+
+        final Map<String, Long> rank = sut.rank(bots);
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(rank).containsOnlyKeys(bots);
+        softly.assertThat(rank.values()).allSatisfy(pairingsWon -> assertThat(pairingsWon).isBetween(0L, 2L));
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should report progress until all mirrored games are played")
+    void shouldReportProgressUntilAllMirroredGamesArePlayed() {
+        final List<TournamentProgressDto> reports = new CopyOnWriteArrayList<>();
+        final var sut = new TournamentService(new ForkJoinPool(2), 2, true, reports::add);
+
+        sut.rank(List.of("DummyBot", "MineiroByBueno"));
+
+        final TournamentProgressDto last = reports.stream()
+                .max(Comparator.comparingLong(TournamentProgressDto::gamesPlayed)).orElseThrow();
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(sut.gamesPlayedPerPairing()).isEqualTo(4);
+        softly.assertThat(last.totalGames()).isEqualTo(8);
+        softly.assertThat(last.gamesPlayed()).isEqualTo(8);
+        softly.assertThat(last.failedGames()).isZero();
+        softly.assertAll();
+    }
+}
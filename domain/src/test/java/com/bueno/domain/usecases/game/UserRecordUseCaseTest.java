@@ -0,0 +1,125 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.game;
+
+import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import com.bueno.domain.usecases.game.dtos.MatchCursor;
+import com.bueno.domain.usecases.game.dtos.UserRecordDto;
+import com.bueno.domain.usecases.game.repos.GameResultRepository;
+import com.bueno.domain.usecases.game.usecase.UserRecordUseCase;
+import com.bueno.domain.usecases.user.UserRepository;
+import com.bueno.domain.usecases.user.dtos.ApplicationUserDto;
+import com.bueno.domain.usecases.utils.exceptions.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserRecordUseCaseTest {
+
+    @Mock private GameResultRepository gameResultRepository;
+    @Mock private UserRepository userRepository;
+
+    private UserRecordUseCase sut;
+    private UUID userUuid;
+
+    @BeforeEach
+    void setUp() {
+        sut = new UserRecordUseCase(gameResultRepository, userRepository);
+        userUuid = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should return last page without next cursor")
+    void shouldReturnLastPageWithoutNextCursor() {
+        final List<GameResultUsernamesDto> matches = matches(2);
+        when(userRepository.findByUuid(userUuid)).thenReturn(Optional.of(user()));
+        when(gameResultRepository.findPageByUserUuid(userUuid, null, 3)).thenReturn(matches);
+
+        final UserRecordDto record = sut.listByUuid(userUuid, null, 2);
+
+        assertThat(record.record()).isEqualTo(matches);
+        assertThat(record.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should point next cursor to the last match of a full page")
+    void shouldPointNextCursorToTheLastMatchOfAFullPage() {
+        final List<GameResultUsernamesDto> matches = matches(3);
+        when(userRepository.findByUuid(userUuid)).thenReturn(Optional.of(user()));
+        when(gameResultRepository.findPageByUserUuid(userUuid, null, 3)).thenReturn(matches);
+
+        final UserRecordDto record = sut.listByUuid(userUuid, null, 2);
+
+        assertThat(record.record()).isEqualTo(matches.subList(0, 2));
+        assertThat(MatchCursor.decode(record.nextCursor())).isEqualTo(MatchCursor.of(matches.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should ask for matches after the given cursor")
+    void shouldAskForMatchesAfterTheGivenCursor() {
+        final MatchCursor cursor = new MatchCursor(LocalDateTime.now(), UUID.randomUUID());
+        when(userRepository.findByUuid(userUuid)).thenReturn(Optional.of(user()));
+        when(gameResultRepository.findPageByUserUuid(userUuid, cursor, 11)).thenReturn(List.of());
+
+        assertThat(sut.listByUuid(userUuid, cursor.encode(), 10).record()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not accept invalid cursor or limit")
+    void shouldNotAcceptInvalidCursorOrLimit() {
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.listByUuid(userUuid, "not a cursor", 10));
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.listByUuid(userUuid, null, 0));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> sut.listByUuid(userUuid, null, UserRecordUseCase.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should throw if user does not exist")
+    void shouldThrowIfUserDoesNotExist() {
+        when(userRepository.findByUuid(any())).thenReturn(Optional.empty());
+        assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> sut.listByUuid(userUuid, null, 10));
+    }
+
+    private ApplicationUserDto user() {
+        return new ApplicationUserDto(userUuid, "User", "", "user@mail.com");
+    }
+
+    private List<GameResultUsernamesDto> matches(int count) {
+        final LocalDateTime now = LocalDateTime.now();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new GameResultUsernamesDto(UUID.randomUUID(), now.minusMinutes(i), "User", "Other", "User"))
+                .toList();
+    }
+}
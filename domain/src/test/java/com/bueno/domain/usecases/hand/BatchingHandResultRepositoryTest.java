@@ -0,0 +1,195 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.hand;
+
+import com.bueno.domain.usecases.hand.dtos.HandResultDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+class BatchingHandResultRepositoryTest {
+
+    @BeforeAll
+    static void init() {
+        LogManager.getLogManager().reset();
+    }
+
+    @Test
+    @DisplayName("Should not accept batch size greater than buffer size")
+    void shouldNotAcceptBatchSizeGreaterThanBufferSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BatchingHandResultRepository(new Recorder(), 1, 2));
+    }
+
+    @Test
+    @DisplayName("Should not accept null hand result")
+    void shouldNotAcceptNullHandResult() {
+        try (var sut = new BatchingHandResultRepository(new Recorder(), 10, 5)) {
+            assertThatNullPointerException().isThrownBy(() -> sut.save(null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write every saved hand result in batches until closed")
+    void shouldWriteEverySavedHandResultInBatchesUntilClosed() {
+        final Recorder recorder = new Recorder();
+        final List<HandResultDto> results = IntStream.range(0, 1000).mapToObj(unused -> handResult()).toList();
+
+        try (var sut = new BatchingHandResultRepository(recorder, 100, 10)) {
+            results.forEach(sut::save);
+        }
+
+        assertThat(recorder.written()).containsExactlyElementsOf(results);
+        assertThat(recorder.batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(10));
+    }
+
+    @Test
+    @DisplayName("Should block callers while buffer is full")
+    void shouldBlockCallersWhileBufferIsFull() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Recorder recorder = new Recorder() {
+            @Override
+            public void saveAll(List<HandResultDto> handResultDtos) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.saveAll(handResultDtos);
+            }
+        };
+        final CountDownLatch saved = new CountDownLatch(4);
+
+        try (var sut = new BatchingHandResultRepository(recorder, 2, 1)) {
+            final Thread producer = new Thread(() -> IntStream.range(0, 4).forEach(unused -> {
+                sut.save(handResult());
+                saved.countDown();
+            }));
+            producer.start();
+
+            assertThat(saved.await(300, TimeUnit.MILLISECONDS)).isFalse();
+            release.countDown();
+            assertThat(saved.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(recorder.written()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should write batch again if delegate fails once")
+    void shouldWriteBatchAgainIfDelegateFailsOnce() {
+        final Recorder recorder = new Recorder() {
+            private boolean failed;
+
+            @Override
+            public void saveAll(List<HandResultDto> handResultDtos) {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Database is unavailable.");
+                }
+                super.saveAll(handResultDtos);
+            }
+        };
+        final List<HandResultDto> results = IntStream.range(0, 20).mapToObj(unused -> handResult()).toList();
+
+        try (var sut = new BatchingHandResultRepository(recorder, 20, 20)) {
+            results.forEach(sut::save);
+        }
+
+        assertThat(recorder.written()).containsExactlyInAnyOrderElementsOf(results);
+    }
+
+    @Test
+    @DisplayName("Should only drop hand results the delegate keeps refusing")
+    void shouldOnlyDropHandResultsTheDelegateKeepsRefusing() {
+        final HandResultDto refused = handResult();
+        final Recorder recorder = new Recorder() {
+            @Override
+            public void save(HandResultDto handResultDto) {
+                if (handResultDto == refused) throw new IllegalArgumentException("Invalid hand result.");
+                super.save(handResultDto);
+            }
+
+            @Override
+            public void saveAll(List<HandResultDto> handResultDtos) {
+                if (handResultDtos.contains(refused)) throw new IllegalArgumentException("Invalid hand result.");
+                super.saveAll(handResultDtos);
+            }
+        };
+        final List<HandResultDto> accepted = IntStream.range(0, 4).mapToObj(unused -> handResult()).toList();
+
+        try (var sut = new BatchingHandResultRepository(recorder, 10, 5)) {
+            accepted.subList(0, 2).forEach(sut::save);
+            sut.save(refused);
+            accepted.subList(2, 4).forEach(sut::save);
+        }
+
+        assertThat(recorder.written()).containsExactlyInAnyOrderElementsOf(accepted);
+    }
+
+    @Test
+    @DisplayName("Should write hand results saved after close directly")
+    void shouldWriteHandResultsSavedAfterCloseDirectly() {
+        final Recorder recorder = new Recorder();
+        final var sut = new BatchingHandResultRepository(recorder, 10, 5);
+        sut.close();
+
+        final HandResultDto result = handResult();
+        sut.save(result);
+
+        assertThat(recorder.written()).containsExactly(result);
+    }
+
+    private static HandResultDto handResult() {
+        return new HandResultDto("WIN", UUID.randomUUID(), UUID.randomUUID(), 1, 3, List.of(), List.of());
+    }
+
+    private static class Recorder implements HandResultRepository {
+        private final List<List<HandResultDto>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void save(HandResultDto handResultDto) {
+            batches.add(List.of(handResultDto));
+        }
+
+        @Override
+        public void saveAll(List<HandResultDto> handResultDtos) {
+            batches.add(handResultDtos);
+        }
+
+        private List<HandResultDto> written() {
+            synchronized (batches) {
+                return batches.stream().flatMap(List::stream).toList();
+            }
+        }
+    }
+}
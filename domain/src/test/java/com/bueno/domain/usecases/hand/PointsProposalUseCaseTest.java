@@ -29,6 +29,7 @@ import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
 import com.bueno.domain.usecases.intel.converters.IntelConverter;
 import com.bueno.domain.usecases.intel.dtos.IntelDto;
 import com.bueno.domain.usecases.utils.exceptions.GameNotFoundException;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
 import com.bueno.domain.usecases.utils.exceptions.UnsupportedGameRequestException;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.*;
@@ -42,8 +43,8 @@ import java.util.logging.LogManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
-import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PointsProposalUseCaseTest {
@@ -168,4 +169,18 @@ class PointsProposalUseCaseTest {
         softly.assertThat(quitIntel.handWinner()).isEqualTo(player1.getUsername());
         softly.assertAll();
     }
+
+    @Test
+    @DisplayName("Should raise bet only once if the game was stale on the first attempt")
+    void shouldRaiseBetOnlyOnceIfTheGameWasStaleOnTheFirstAttempt() {
+        final GameRepository staleOnce = spy(repo);
+        doThrow(new StaleGameException("Stale game")).doCallRealMethod().when(staleOnce).update(any());
+        sut = new PointsProposalUseCase(staleOnce);
+        repo.save(GameConverter.toDto(game));
+
+        final IntelDto intel = sut.raise(p1Uuid);
+
+        assertThat(intel.handPointsProposal()).isEqualTo(3);
+        verify(staleOnce, times(2)).update(any());
+    }
 }
@@ -26,10 +26,12 @@ import com.bueno.domain.entities.deck.Suit;
 import com.bueno.domain.entities.game.Game;
 import com.bueno.domain.entities.player.Player;
 import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
 import com.bueno.domain.usecases.intel.converters.CardConverter;
 import com.bueno.domain.usecases.intel.converters.IntelConverter;
+import com.bueno.domain.usecases.intel.dtos.CompactIntelDto;
 import com.bueno.domain.usecases.utils.exceptions.GameNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -40,12 +42,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class HandleIntelUseCaseTest {
@@ -136,4 +139,70 @@ class HandleIntelUseCaseTest {
 
         assertThat(obtained.intelSinceBaseTimestamp()).isEqualTo(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should send all fields of the first intel if cursor is zero")
+    void shouldSendAllFieldsOfTheFirstIntelIfCursorIsZero() {
+        repo.save(GameConverter.toDto(game));
+
+        final var delta = sut.findIntelDelta(p1Uuid, 0);
+
+        assertThat(delta.intel()).hasSize(1);
+        assertThat(delta.intel().get(0).sequence()).isOne();
+        assertThat(delta.intel().get(0).changes()).containsKeys("timestamp", "vira", "players", "possibleActions");
+    }
+
+    @Test
+    @DisplayName("Should send only the fields changed after the cursor")
+    void shouldSendOnlyTheFieldsChangedAfterTheCursor() {
+        repo.save(GameConverter.toDto(game));
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+
+        final var delta = sut.findIntelDelta(p1Uuid, 1);
+        final CompactIntelDto raise = delta.intel().get(0);
+
+        assertThat(delta.lastSequence()).isEqualTo(2);
+        assertThat(raise.sequence()).isEqualTo(2);
+        assertThat(raise.changes()).containsEntry("handPointsProposal", 3).doesNotContainKey("vira");
+    }
+
+    @Test
+    @DisplayName("Should keep intel version until the game changes")
+    void shouldKeepIntelVersionUntilTheGameChanges() {
+        repo.save(GameConverter.toDto(game));
+        final String version = sut.findIntelVersion(p1Uuid);
+        assertThat(sut.findIntelVersion(p1Uuid)).isEqualTo(version);
+
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+        assertThat(sut.findIntelVersion(p1Uuid)).isNotEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Should identify intel delta with the intel version")
+    void shouldIdentifyIntelDeltaWithTheIntelVersion() {
+        repo.save(GameConverter.toDto(game));
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+
+        assertThat(sut.findIntelDelta(p1Uuid, 0).version()).isEqualTo(sut.findIntelVersion(p1Uuid));
+    }
+
+    @Test
+    @DisplayName("Should find intel version without reading the game")
+    void shouldFindIntelVersionWithoutReadingTheGame() {
+        final GameRepository versionsOnly = mock(GameRepository.class);
+        final UUID gameUuid = UUID.randomUUID();
+        when(versionsOnly.findVersionByPlayerUuid(p1Uuid)).thenReturn(Optional.of(new GameVersionDto(gameUuid, 3)));
+
+        assertThat(new HandleIntelUseCase(versionsOnly).findIntelVersion(p1Uuid)).isEqualTo(gameUuid + "-3");
+        verify(versionsOnly, never()).findByPlayerUuid(any());
+    }
+
+    @Test
+    @DisplayName("Should throw if requests intel delta with negative cursor")
+    void shouldThrowIfRequestsIntelDeltaWithNegativeCursor() {
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.findIntelDelta(p1Uuid, -1));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.domain.usecases.intel;
+
+import com.bueno.domain.entities.game.Game;
+import com.bueno.domain.entities.intel.Intel;
+import com.bueno.domain.entities.player.Player;
+import com.bueno.domain.usecases.game.converter.GameConverter;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.game.repos.GameRepositoryInMemoryImpl;
+import com.bueno.domain.usecases.game.repos.IntelPublishingGameRepository;
+import com.bueno.domain.usecases.game.service.SimulationEngine;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntelBroadcasterTest {
+
+    private IntelBroadcaster sut;
+    private GameRepository repo;
+    private Player player;
+    private Game game;
+    private List<IntelDto> received;
+
+    @BeforeAll
+    static void init() {
+        LogManager.getLogManager().reset();
+    }
+
+    @BeforeEach
+    void setUp() {
+        final GameRepository delegate = new GameRepositoryInMemoryImpl();
+        sut = new IntelBroadcaster(delegate);
+        repo = new IntelPublishingGameRepository(delegate, sut);
+        player = Player.of(UUID.randomUUID(), "User");
+        game = new Game(player, Player.of(UUID.randomUUID(), "Opponent"));
+        received = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should send game history on subscription")
+    void shouldSendGameHistoryOnSubscription() {
+        repo.save(GameConverter.toDto(game));
+        sut.subscribe(player.getUuid(), null, received::add);
+        assertThat(received).extracting(IntelDto::timestamp)
+                .containsExactlyElementsOf(game.getIntelSince(null).stream().map(Intel::timestamp).toList());
+    }
+
+    @Test
+    @DisplayName("Should send only new intel when game is updated")
+    void shouldSendOnlyNewIntelWhenGameIsUpdated() {
+        repo.save(GameConverter.toDto(game));
+        sut.subscribe(player.getUuid(), null, received::add);
+        received.clear();
+
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+
+        assertThat(received).extracting(IntelDto::event).containsExactly("RAISE");
+    }
+
+    @Test
+    @DisplayName("Should resume after the given cursor")
+    void shouldResumeAfterTheGivenCursor() {
+        repo.save(GameConverter.toDto(game));
+        final Intel lastIntel = game.getIntel();
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+
+        sut.subscribe(player.getUuid(), lastIntel.timestamp(), received::add);
+
+        assertThat(received).extracting(IntelDto::event).containsExactly("RAISE");
+    }
+
+    @Test
+    @DisplayName("Should send intel of games created after subscription")
+    void shouldSendIntelOfGamesCreatedAfterSubscription() {
+        sut.subscribe(player.getUuid(), null, received::add);
+        repo.save(GameConverter.toDto(game));
+        assertThat(received).extracting(IntelDto::event).containsExactly("HAND_START");
+    }
+
+    @Test
+    @DisplayName("Should not send intel after subscription is closed")
+    void shouldNotSendIntelAfterSubscriptionIsClosed() {
+        repo.save(GameConverter.toDto(game));
+        sut.subscribe(player.getUuid(), null, received::add).close();
+        received.clear();
+
+        game.currentHand().raise(game.currentHand().getCurrentPlayer());
+        repo.update(GameConverter.toDto(game));
+
+        assertThat(received).isEmpty();
+        assertThat(sut.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe listener that fails")
+    void shouldUnsubscribeListenerThatFails() {
+        sut.subscribe(player.getUuid(), null, intel -> {
+            throw new IllegalStateException("Connection closed.");
+        });
+        repo.save(GameConverter.toDto(game));
+        assertThat(sut.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should deliver intel without holding the writing thread")
+    void shouldDeliverIntelWithoutHoldingTheWritingThread() throws InterruptedException {
+        final GameRepository delegate = new GameRepositoryInMemoryImpl();
+        final CountDownLatch connectionIsSlow = new CountDownLatch(1);
+        final BlockingQueue<IntelDto> delivered = new LinkedBlockingQueue<>();
+        try (IntelBroadcaster asyncBroadcaster = new IntelBroadcaster(delegate, 1)) {
+            final GameRepository publishingRepo = new IntelPublishingGameRepository(delegate, asyncBroadcaster);
+            asyncBroadcaster.subscribe(player.getUuid(), null, intel -> {
+                await(connectionIsSlow);
+                delivered.add(intel);
+            });
+
+            publishingRepo.save(GameConverter.toDto(game));
+            assertThat(delivered).isEmpty();
+
+            connectionIsSlow.countDown();
+            assertThat(delivered.poll(1, TimeUnit.SECONDS)).extracting(IntelDto::event).isEqualTo("HAND_START");
+        }
+    }
+
+    @Test
+    @DisplayName("Should send game over intel only once")
+    void shouldSendGameOverIntelOnlyOnce() {
+        final Player bot = Player.ofBot("DummyBot");
+        final Game botGame = new SimulationEngine().play(new Game(bot, Player.ofBot("DummyBot")));
+        sut.subscribe(bot.getUuid(), null, received::add);
+
+        repo.save(GameConverter.toDto(botGame));
+        repo.update(GameConverter.toDto(botGame));
+
+        assertThat(received).filteredOn(intel -> "GAME_OVER".equals(intel.event())).hasSize(1);
+        assertThat(received.get(received.size() - 1).isGameDone()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -21,12 +21,11 @@
 package com.bueno.persistence.dao;
 
 import com.bueno.persistence.dto.GameResultEntity;
-import com.bueno.persistence.dto.GameResultQR;
 import com.bueno.persistence.dto.PlayerWinsQR;
+import com.bueno.persistence.dto.UserWinsQR;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -40,33 +39,17 @@ public interface GameResultDao extends JpaRepository<GameResultEntity, UUID> {
             FROM UserEntity a
             RIGHT JOIN GameResultEntity b ON a.uuid = b.winnerUuid
             GROUP BY username
-            ORDER BY username
+            ORDER BY wins DESC, username
             """
     )
     List<PlayerWinsQR> findTopWinners(Pageable pageable);
 
-    @Query(
-            value = """
-            SELECT ending_time ending, temp1.p1 player1, temp2.p2 player2, temp3.win winner FROM
-                (SELECT game_id, player1 p1_uuid, username p1, game_end_time ending_time FROM app_user app
-                LEFT JOIN game_result game ON app.id = game.player1
-                WHERE game.player1 = :uuid OR game.player2 = :uuid
-                ) AS temp1
-            INNER JOIN
-                (SELECT game_id, player2 p2_uuid, username p2 FROM app_user app
-                LEFT JOIN game_result game ON app.id = game.player2
-                 WHERE game.player1 = :uuid OR game.player2 = :uuid
-                ) AS temp2
-            ON temp1.game_id = temp2.game_id
-            INNER JOIN
-                (SELECT game_id, winner win_uuid, username win  FROM app_user app
-                LEFT JOIN game_result game ON app.id = game.winner
-                 WHERE game.player1 = :uuid OR game.player2 = :uuid
-                ) AS temp3
-            ON temp1.game_id = temp3.game_id
-            ORDER BY ending_time DESC
+    @Query("""
+            SELECT a.uuid as uuid, a.username as username, count(b) as wins
+            FROM UserEntity a
+            INNER JOIN GameResultEntity b ON a.uuid = b.winnerUuid
+            GROUP BY a.uuid, a.username
             """
-            , nativeQuery = true
     )
-    List<GameResultQR> findAllByPlayerUuid(@Param("uuid") UUID uuid);
+    List<UserWinsQR> findWinsOfAllUsers();
 }
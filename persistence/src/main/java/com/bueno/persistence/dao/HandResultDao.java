@@ -22,9 +22,30 @@ package com.bueno.persistence.dao;
 
 import com.bueno.persistence.dto.HandResultEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface HandResultDao extends JpaRepository<HandResultEntity, Long> {
 
+    // The increment must match the allocation size of the id generator in HandResultEntity.
+    @Modifying
+    @Transactional
+    @Query(value = "CREATE SEQUENCE IF NOT EXISTS hand_result_seq INCREMENT BY 50", nativeQuery = true)
+    void createIdSequenceIfMissing();
+
+    // Moves the sequence past the ids already in the table, including the ones generated by the old identity column,
+    // and never moves it back, which makes it safe to run on every start.
+    @Transactional
+    @Query(
+            value = """
+            SELECT setval('hand_result_seq',
+                GREATEST(seq.last_value, (SELECT COALESCE(MAX(id), 0) + 50 FROM hand_result)))
+            FROM hand_result_seq seq
+            """
+            , nativeQuery = true
+    )
+    long moveIdSequencePastExistingIds();
 }
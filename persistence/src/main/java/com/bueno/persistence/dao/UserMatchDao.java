@@ -0,0 +1,72 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.persistence.dao;
+
+import com.bueno.persistence.dto.UserMatchEntity;
+import com.bueno.persistence.dto.UserMatchId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserMatchDao extends JpaRepository<UserMatchEntity, UserMatchId> {
+
+    List<UserMatchEntity> findByUserUuidOrderByEndingTimeDescGameUuidDesc(UUID userUuid, Pageable pageable);
+
+    @Query("""
+            SELECT m FROM UserMatchEntity m
+            WHERE m.userUuid = :uuid
+            AND (m.endingTime < :endingTime OR (m.endingTime = :endingTime AND m.gameUuid < :gameUuid))
+            ORDER BY m.endingTime DESC, m.gameUuid DESC
+            """
+    )
+    List<UserMatchEntity> findPageAfter(@Param("uuid") UUID uuid,
+                                        @Param("endingTime") LocalDateTime endingTime,
+                                        @Param("gameUuid") UUID gameUuid,
+                                        Pageable pageable);
+
+    // Copies the results of games between registered users that are not in the projection yet, which makes it safe
+    // to run on every start.
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+            INSERT INTO user_match (user_uuid, game_id, ending_time, player1, player2, winner)
+            SELECT participant.id, game.game_id, game.game_end_time, p1.username, p2.username, win.username
+            FROM game_result game
+            INNER JOIN app_user p1 ON p1.id = game.player1
+            INNER JOIN app_user p2 ON p2.id = game.player2
+            INNER JOIN app_user win ON win.id = game.winner
+            INNER JOIN app_user participant ON participant.id IN (game.player1, game.player2)
+            WHERE NOT EXISTS (SELECT 1 FROM user_match m WHERE m.game_id = game.game_id)
+            """
+            , nativeQuery = true
+    )
+    int backfillFromGameResults();
+}
@@ -22,13 +22,17 @@ package com.bueno.persistence.dto;
 
 import com.bueno.domain.usecases.game.dtos.GameDto;
 import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.persistence.Id;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Builder
 @Document
+@CompoundIndex(name = "inactivity", def = "{'lastActivity': 1, 'currentPlayer': 1}")
 public class GameEntity {
     @Id
     private UUID id;
@@ -48,6 +53,13 @@ public class GameEntity {
     private UUID firstToPlay;
     private UUID lastToPlay;
     private List<HandEntity> hands;
+    // Timestamp of the last intel and the player it is waiting for, copied from the last hand so that the
+    // inactivity sweep is an indexed range query that never loads the hands.
+    private Instant lastActivity;
+    private UUID currentPlayer;
+    // Set by every update, which is only applied if the stored version is still the one the writer expects.
+    // Games stored before versioning have no version field and are read as version 0.
+    private long version;
 
     public static GameEntity from(GameDto dto){
         return GameEntity.builder()
@@ -58,9 +70,23 @@ public class GameEntity {
                 .firstToPlay(dto.firstToPlay().uuid())
                 .lastToPlay(dto.lastToPlay().uuid())
                 .hands(dto.hands().stream().map(HandEntity::from).toList())
+                .lastActivity(lastActivityOf(dto.hands()))
+                .currentPlayer(currentPlayerOf(dto.hands()))
                 .build();
     }
 
+    public static Instant lastActivityOf(List<HandDto> hands){
+        if(hands.isEmpty()) return null;
+        final List<IntelDto> history = hands.get(hands.size() - 1).history();
+        return history.isEmpty() ? null : history.get(history.size() - 1).timestamp();
+    }
+
+    public static UUID currentPlayerOf(List<HandDto> hands){
+        if(hands.isEmpty()) return null;
+        final PlayerDto currentPlayer = hands.get(hands.size() - 1).currentPlayer();
+        return currentPlayer != null ? currentPlayer.uuid() : null;
+    }
+
     public GameDto toDto(Map<UUID, PlayerDto> players){
         return new GameDto(
                 id,
@@ -69,7 +95,8 @@ public class GameEntity {
                 players.get(player2),
                 players.get(firstToPlay),
                 players.get(lastToPlay),
-                hands.stream().map(hand -> hand.toDto(players)).toList()
+                hands.stream().map(hand -> hand.toDto(players)).toList(),
+                version
         );
     }
 }
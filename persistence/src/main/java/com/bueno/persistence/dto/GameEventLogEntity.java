@@ -0,0 +1,77 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.persistence.dto;
+
+import com.bueno.domain.usecases.game.converter.GameDtoCodec;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import javax.persistence.Id;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document
+@CompoundIndex(name = "inactivity", def = "{'lastActivity': 1, 'currentPlayer': 1}")
+public class GameEventLogEntity {
+    @Id
+    private UUID id;
+    @Indexed
+    private UUID player1;
+    @Indexed
+    private UUID player2;
+    private Instant lastActivity;
+    private UUID currentPlayer;
+    // Written with GameDtoCodec. It has its own copy of the players, so that loading a game reads a single document.
+    private byte[] snapshot;
+    // Batches appended after the snapshot, and the version of the game the last batch comes from, which is compared by
+    // every append.
+    private List<byte[]> batches;
+    private long version;
+
+    public static GameEventLogEntity from(GameDto dto){
+        return GameEventLogEntity.builder()
+                .id(dto.gameUuid())
+                .player1(dto.player1().uuid())
+                .player2(dto.player2().uuid())
+                .lastActivity(GameEntity.lastActivityOf(dto.hands()))
+                .currentPlayer(GameEntity.currentPlayerOf(dto.hands()))
+                .snapshot(GameDtoCodec.encode(dto))
+                .batches(List.of())
+                .version(dto.version())
+                .build();
+    }
+
+    public GameEventLogDto toDto(){
+        return new GameEventLogDto(GameDtoCodec.decode(snapshot), version, batches);
+    }
+}
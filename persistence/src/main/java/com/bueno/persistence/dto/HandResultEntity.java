@@ -38,7 +38,11 @@ import java.util.UUID;
 @Table(name = "HAND_RESULT")
 public class HandResultEntity {
 
-    @Id @GeneratedValue(strategy= GenerationType.IDENTITY)
+    // Ids come from a pooled sequence, so Hibernate can batch the inserts instead of reading back each identity. The
+    // sequence is created and moved past the existing ids on start by HandResultSequenceTask.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hand_result_sequence")
+    @SequenceGenerator(name = "hand_result_sequence", sequenceName = "HAND_RESULT_SEQ", allocationSize = 50)
     private long id;
 
     @Column(name = "HAND_TYPE", length = 9)
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.persistence.dto;
+
+import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row per user and finished game, with the usernames already resolved, so the match history of a user is read
+// from a single index range instead of joining the game results with the users.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@IdClass(UserMatchId.class)
+@Table(name = "USER_MATCH", indexes = {
+        @Index(name = "IDX_USER_MATCH_ENDING", columnList = "USER_UUID, ENDING_TIME DESC, GAME_ID DESC")
+})
+public class UserMatchEntity {
+    @Id
+    @Column(name = "USER_UUID")
+    private UUID userUuid;
+    @Id
+    @Column(name = "GAME_ID")
+    private UUID gameUuid;
+    @Column(name = "ENDING_TIME")
+    private LocalDateTime endingTime;
+    @Column(name = "PLAYER1")
+    private String player1;
+    @Column(name = "PLAYER2")
+    private String player2;
+    @Column(name = "WINNER")
+    private String winner;
+
+    public GameResultUsernamesDto toDto(){
+        return new GameResultUsernamesDto(gameUuid, endingTime, player1, player2, winner);
+    }
+}
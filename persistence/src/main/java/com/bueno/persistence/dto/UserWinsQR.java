@@ -20,11 +20,10 @@
 
 package com.bueno.persistence.dto;
 
-import java.time.LocalDateTime;
+import java.util.UUID;
 
-public interface GameResultQR {
-    LocalDateTime getEnding();
-    String getPlayer1();
-    String getPlayer2();
-    String getWinner();
+public interface UserWinsQR {
+    UUID getUuid();
+    String getUsername();
+    Long getWins();
 }
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.persistence.repositories;
+
+import com.bueno.domain.usecases.game.converter.GameDtoCodec;
+import com.bueno.domain.usecases.game.dtos.GameDto;
+import com.bueno.domain.usecases.game.dtos.GameEventLogDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.game.repos.GameEventStore;
+import com.bueno.persistence.dto.GameEntity;
+import com.bueno.persistence.dto.GameEventLogEntity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Repository
+public class GameEventStoreImpl implements GameEventStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public GameEventStoreImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void create(GameDto game) {
+        mongoTemplate.insert(GameEventLogEntity.from(game));
+    }
+
+    // Writes the batch only if the log is still at the expected version, so concurrent writers can not interleave
+    // batches.
+    @Override
+    public boolean append(GameDto game, long expectedVersion, byte[] events, boolean snapshot) {
+        final Update update = new Update()
+                .set("version", game.version())
+                .set("lastActivity", GameEntity.lastActivityOf(game.hands()))
+                .set("currentPlayer", GameEntity.currentPlayerOf(game.hands()));
+        if (snapshot) update.set("snapshot", GameDtoCodec.encode(game)).set("batches", List.of());
+        else if (events.length > 0) update.push("batches", events);
+        final Query query = new Query(where("_id").is(game.gameUuid()).and("version").is(expectedVersion));
+        return mongoTemplate.updateFirst(query, update, GameEventLogEntity.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public Optional<GameEventLogDto> findByGameUuid(UUID gameUuid) {
+        return Optional.ofNullable(mongoTemplate.findById(gameUuid, GameEventLogEntity.class))
+                .map(GameEventLogEntity::toDto);
+    }
+
+    @Override
+    public Optional<GameEventLogDto> findByPlayerUuid(UUID playerUuid) {
+        final UUID uuid = Objects.requireNonNull(playerUuid, "User UUID must not be null.");
+        final Query query = new Query(new Criteria().orOperator(where("player1").is(uuid), where("player2").is(uuid)));
+        return Optional.ofNullable(mongoTemplate.findOne(query, GameEventLogEntity.class))
+                .map(GameEventLogEntity::toDto);
+    }
+
+    @Override
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        final UUID uuid = Objects.requireNonNull(playerUuid, "User UUID must not be null.");
+        final Query query = new Query(new Criteria().orOperator(where("player1").is(uuid), where("player2").is(uuid)));
+        query.fields().include("_id").include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, GameEventLogEntity.class))
+                .map(log -> new GameVersionDto(log.getId(), log.getVersion()));
+    }
+
+    @Override
+    public void delete(UUID gameUuid) {
+        mongoTemplate.remove(new Query(where("_id").is(gameUuid)), GameEventLogEntity.class);
+    }
+
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        final Instant limit = Instant.now().minus(Duration.ofMinutes(minutes));
+        final Query query = new Query(where("lastActivity").lte(limit));
+        query.fields().include("currentPlayer").exclude("_id");
+        return mongoTemplate.find(query, GameEventLogEntity.class).stream()
+                .map(GameEventLogEntity::getCurrentPlayer)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
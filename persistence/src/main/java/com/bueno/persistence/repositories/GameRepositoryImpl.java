@@ -21,48 +21,153 @@
 package com.bueno.persistence.repositories;
 
 import com.bueno.domain.usecases.game.dtos.GameDto;
-import com.bueno.domain.usecases.game.dtos.PlayerDto;
+import com.bueno.domain.usecases.game.dtos.GameVersionDto;
+import com.bueno.domain.usecases.hand.dtos.HandDto;
 import com.bueno.domain.usecases.game.repos.GameRepository;
 import com.bueno.domain.usecases.utils.exceptions.EntityNotFoundException;
+import com.bueno.domain.usecases.utils.exceptions.StaleGameException;
 import com.bueno.persistence.dao.GameDao;
 import com.bueno.persistence.dao.PlayerDao;
 import com.bueno.persistence.dto.GameEntity;
 import com.bueno.persistence.dto.HandEntity;
 import com.bueno.persistence.dto.IntelEntity;
 import com.bueno.persistence.dto.PlayerEntity;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.stereotype.Repository;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @Repository
 public class GameRepositoryImpl implements GameRepository {
 
     private final GameDao gameDao;
     private final PlayerDao playerDao;
+    private final MongoTemplate mongoTemplate;
+    // Version, number of hands and number of intel entries in the last hand known to be stored for each game. Updates
+    // of a game read as the version of its mark send only what changed after the mark, other updates send all fields.
+    // Finished games are not kept, since they are not updated anymore and may never be deleted.
+    private final Map<UUID, WriteMark> writeMarks = new ConcurrentHashMap<>();
+    // Players of the unfinished games as last read or written by this repository. Most moves do not change the players,
+    // so they are written only if they differ from what is known to be stored.
+    private final Map<UUID, PlayerEntity> storedPlayers = new ConcurrentHashMap<>();
 
-    public GameRepositoryImpl(GameDao dao, PlayerDao playerDao) {
+    public GameRepositoryImpl(GameDao dao, PlayerDao playerDao, MongoTemplate mongoTemplate) {
         this.gameDao = dao;
         this.playerDao = playerDao;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
     public void save(GameDto dto) {
         gameDao.findById(dto.gameUuid())
                 .ifPresent(game -> {throw new EntityNotFoundException("Game already exists: " + game.getId());});
-        playerDao.save(PlayerEntity.from(dto.player1()));
-        playerDao.save(PlayerEntity.from(dto.player2()));
+        savePlayer(PlayerEntity.from(dto.player1()));
+        savePlayer(PlayerEntity.from(dto.player2()));
         gameDao.save(GameEntity.from(dto));
+        writeMarks.put(dto.gameUuid(), WriteMark.of(dto.hands(), 0));
     }
 
+    // Applied only if the stored document is still the given version, so it fails fast if the game has been updated
+    // since it was read, possibly by another instance.
     @Override
-    public void update(GameDto dto) {
-        gameDao.findById(dto.gameUuid())
-                .orElseThrow(() -> new EntityNotFoundException("Can not update non-existing game: " + dto.gameUuid()));
-        playerDao.save(PlayerEntity.from(dto.player1()));
-        playerDao.save(PlayerEntity.from(dto.player2()));
-        gameDao.save(GameEntity.from(dto));
+    public void update(GameDto dto, long storedVersion) {
+        final UUID uuid = dto.gameUuid();
+        final WriteMark mark = writeMarks.get(uuid);
+        final boolean followsMark = mark != null && mark.version() == storedVersion && mark.isBehindOrAt(dto.hands());
+        final boolean updated = followsMark ? updateChanges(dto, mark) : updateAllFields(dto, storedVersion);
+        if (!updated) {
+            writeMarks.remove(uuid);
+            if (!gameDao.existsById(uuid)) throw new EntityNotFoundException("Can not update non-existing game: " + uuid);
+            throw new StaleGameException("Game has been updated since it was read: " + uuid);
+        }
+        savePlayerIfChanged(PlayerEntity.from(dto.player1()));
+        savePlayerIfChanged(PlayerEntity.from(dto.player2()));
+        if (dto.isDone()) forget(uuid, dto.player1().uuid(), dto.player2().uuid());
+        else writeMarks.put(uuid, WriteMark.of(dto.hands(), dto.version()));
+    }
+
+    private void forget(UUID gameUuid, UUID player1Uuid, UUID player2Uuid) {
+        writeMarks.remove(gameUuid);
+        storedPlayers.remove(player1Uuid);
+        storedPlayers.remove(player2Uuid);
+    }
+
+    private void savePlayerIfChanged(PlayerEntity player) {
+        if (!player.equals(storedPlayers.get(player.getId()))) savePlayer(player);
+    }
+
+    private void savePlayer(PlayerEntity player) {
+        playerDao.save(player);
+        storedPlayers.put(player.getId(), player);
+    }
+
+    // Pushes the new intel entries of the last stored hand and sets its mutable fields. Finished and new hands are set
+    // by index, which appends them to the array. Returns false if the game does not exist or does not match the mark.
+    private boolean updateChanges(GameDto dto, WriteMark mark) {
+        final List<HandDto> hands = dto.hands();
+        final int lastStored = mark.hands() - 1;
+        final Update update = new Update()
+                .set("firstToPlay", dto.firstToPlay().uuid())
+                .set("lastToPlay", dto.lastToPlay().uuid())
+                .set("lastActivity", GameEntity.lastActivityOf(hands))
+                .set("currentPlayer", GameEntity.currentPlayerOf(hands))
+                .set("version", dto.version());
+
+        if (lastStored >= 0) {
+            final HandEntity hand = HandEntity.from(hands.get(lastStored), mark.lastHandHistory());
+            final List<IntelEntity> newIntel = hand.getHistory();
+            final String path = "hands." + lastStored + ".";
+            if (!newIntel.isEmpty()) update.push(path + "history").each(newIntel.toArray());
+            update.set(path + "openCards", hand.getOpenCards())
+                    .set(path + "roundsPlayed", hand.getRoundsPlayed())
+                    .set(path + "possibleActions", hand.getPossibleActions())
+                    .set(path + "currentPlayer", hand.getCurrentPlayer())
+                    .set(path + "lastBetRaiser", hand.getLastBetRaiser())
+                    .set(path + "eventPlayer", hand.getEventPlayer())
+                    .set(path + "cartToPlayAgainst", hand.getCartToPlayAgainst())
+                    .set(path + "points", hand.getPoints())
+                    .set(path + "pointsProposal", hand.getPointsProposal())
+                    .set(path + "winner", hand.getWinner())
+                    .set(path + "state", hand.getState());
+        }
+        for (int i = mark.hands(); i < hands.size(); i++)
+            update.set("hands." + i, HandEntity.from(hands.get(i)));
+
+        final Query query = new Query(where("_id").is(dto.gameUuid()).and("hands").size(mark.hands()))
+                .addCriteria(hasVersion(mark.version()));
+        if (lastStored >= 0) query.addCriteria(where("hands." + lastStored + ".history").size(mark.lastHandHistory()));
+        return mongoTemplate.updateFirst(query, update, GameEntity.class).getMatchedCount() > 0;
+    }
+
+    private boolean updateAllFields(GameDto dto, long storedVersion) {
+        final GameEntity game = GameEntity.from(dto);
+        final Update update = new Update()
+                .set("timestamp", game.getTimestamp())
+                .set("player1", game.getPlayer1())
+                .set("player2", game.getPlayer2())
+                .set("firstToPlay", game.getFirstToPlay())
+                .set("lastToPlay", game.getLastToPlay())
+                .set("hands", game.getHands())
+                .set("lastActivity", game.getLastActivity())
+                .set("currentPlayer", game.getCurrentPlayer())
+                .set("version", dto.version());
+        final Query query = new Query(where("_id").is(dto.gameUuid())).addCriteria(hasVersion(storedVersion));
+        final UpdateResult result = mongoTemplate.updateFirst(query, update, GameEntity.class);
+        return result.getMatchedCount() > 0;
+    }
+
+    private static Criteria hasVersion(long version) {
+        return version == 0 ? where("version").in(0L, null) : where("version").is(version);
     }
 
     @Override
@@ -72,6 +177,7 @@ public class GameRepositoryImpl implements GameRepository {
         playerDao.deleteById(game.getPlayer1());
         playerDao.deleteById(game.getPlayer2());
         gameDao.delete(game);
+        forget(uuid, game.getPlayer1(), game.getPlayer2());
     }
 
     @Override
@@ -81,32 +187,76 @@ public class GameRepositoryImpl implements GameRepository {
         return getGameDto(possibleGame.orElse(null));
     }
 
+    // Only the id and the version of the game are read, neither its hands nor its players.
     @Override
-    public Collection<GameDto> findAllInactiveAfter(int minutes) {
-        return gameDao.findAll().stream()
-                .filter(game -> isInactive(game, minutes))
-                .map(this::getGameDto)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+    public Optional<GameVersionDto> findVersionByPlayerUuid(UUID playerUuid) {
+        final UUID uuid = Objects.requireNonNull(playerUuid, "User UUID must not be null.");
+        final Query query = new Query(new Criteria().orOperator(where("player1").is(uuid), where("player2").is(uuid)));
+        query.fields().include("_id").include("version");
+        return Optional.ofNullable(mongoTemplate.findOne(query, GameEntity.class))
+                .map(game -> new GameVersionDto(game.getId(), game.getVersion()));
+    }
+
+    // Covered by the inactivity index: only the players the inactive games are waiting for are read.
+    @Override
+    public Collection<UUID> findAllInactiveAfter(int minutes) {
+        final Instant limit = Instant.now().minus(Duration.ofMinutes(minutes));
+        final Query query = new Query(where("lastActivity").lte(limit));
+        query.fields().include("currentPlayer").exclude("_id");
+        return mongoTemplate.find(query, GameEntity.class).stream()
+                .map(GameEntity::getCurrentPlayer)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
-    public boolean isInactive(GameEntity game, int minutes){
-        if(game.getHands().isEmpty()) return false;
-        final int index = game.getHands().size() - 1;
-        final HandEntity hand = game.getHands().get(index);
-        final IntelEntity intel = hand.getHistory().get(hand.getHistory().size() - 1);
-        final Instant lastInteraction = intel.getTimestamp();
-        final Instant now = Instant.now();
-        final long inactivityInMinutes = Duration.between(lastInteraction, now).toMinutes();
-        System.out.println("Inactive during (minutes): " + inactivityInMinutes);
-        return inactivityInMinutes >= minutes;
+    // Sets the inactivity fields of the games stored before they existed, which the inactivity sweep would never find.
+    // Only the fields of the hands needed to compute them are read.
+    public int backfillInactivity() {
+        final Query query = new Query(where("lastActivity").exists(false));
+        query.fields().include("hands.history.timestamp").include("hands.currentPlayer");
+        int updatedGames = 0;
+        try (CloseableIterator<GameEntity> games = mongoTemplate.stream(query, GameEntity.class)) {
+            while (games.hasNext()) {
+                final GameEntity game = games.next();
+                final List<HandEntity> hands = game.getHands() == null ? List.of() : game.getHands();
+                final HandEntity lastHand = hands.isEmpty() ? null : hands.get(hands.size() - 1);
+                final Update update = new Update()
+                        .set("lastActivity", lastActivityOf(lastHand))
+                        .set("currentPlayer", lastHand == null ? null : lastHand.getCurrentPlayer());
+                final Query notBackfilled = new Query(where("_id").is(game.getId()).and("lastActivity").exists(false));
+                updatedGames += mongoTemplate.updateFirst(notBackfilled, update, GameEntity.class).getModifiedCount();
+            }
+        }
+        return updatedGames;
+    }
+
+    private static Instant lastActivityOf(HandEntity hand) {
+        if (hand == null || hand.getHistory() == null || hand.getHistory().isEmpty()) return null;
+        return hand.getHistory().get(hand.getHistory().size() - 1).getTimestamp();
     }
 
     private Optional<GameDto> getGameDto(GameEntity game) {
         if(game == null) return Optional.empty();
-        final PlayerDto player1 = playerDao.findById(game.getPlayer1()).orElseThrow().toDto();
-        final PlayerDto player2 = playerDao.findById(game.getPlayer2()).orElseThrow().toDto();
-        return Optional.of(game.toDto(Map.of(player1.uuid(), player1, player2.uuid(), player2)));
+        final PlayerEntity player1 = playerDao.findById(game.getPlayer1()).orElseThrow();
+        final PlayerEntity player2 = playerDao.findById(game.getPlayer2()).orElseThrow();
+        final GameDto dto = game.toDto(Map.of(player1.getId(), player1.toDto(), player2.getId(), player2.toDto()));
+        if (!dto.isDone()) {
+            writeMarks.put(dto.gameUuid(), WriteMark.of(dto.hands(), dto.version()));
+            storedPlayers.put(player1.getId(), player1);
+            storedPlayers.put(player2.getId(), player2);
+        }
+        return Optional.of(dto);
+    }
+
+    private record WriteMark(long version, int hands, int lastHandHistory) {
+        static WriteMark of(List<HandDto> hands, long version) {
+            if (hands.isEmpty()) return new WriteMark(version, 0, 0);
+            return new WriteMark(version, hands.size(), hands.get(hands.size() - 1).history().size());
+        }
+
+        boolean isBehindOrAt(List<HandDto> updatedHands) {
+            if (updatedHands.size() < hands) return false;
+            return hands == 0 || updatedHands.get(hands - 1).history().size() >= lastHandHistory;
+        }
     }
 }
@@ -22,29 +22,66 @@ package com.bueno.persistence.repositories;
 
 import com.bueno.domain.usecases.game.dtos.GameResultDto;
 import com.bueno.domain.usecases.game.dtos.GameResultUsernamesDto;
+import com.bueno.domain.usecases.game.dtos.MatchCursor;
 import com.bueno.domain.usecases.game.dtos.PlayerWinsDto;
+import com.bueno.domain.usecases.game.dtos.UserWinsDto;
 import com.bueno.domain.usecases.game.repos.GameResultRepository;
 import com.bueno.persistence.dao.GameResultDao;
+import com.bueno.persistence.dao.UserDao;
+import com.bueno.persistence.dao.UserMatchDao;
 import com.bueno.persistence.dto.GameResultEntity;
-import com.bueno.persistence.dto.GameResultQR;
+import com.bueno.persistence.dto.UserEntity;
+import com.bueno.persistence.dto.UserMatchEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class GameResultRepositoryImpl implements GameResultRepository {
 
     private final GameResultDao repo;
+    private final UserMatchDao userMatchDao;
+    private final UserDao userDao;
 
-    public GameResultRepositoryImpl(GameResultDao repo) {
+    public GameResultRepositoryImpl(GameResultDao repo, UserMatchDao userMatchDao, UserDao userDao) {
         this.repo = repo;
+        this.userMatchDao = userMatchDao;
+        this.userDao = userDao;
     }
 
     @Override
     public void save(GameResultDto gameResult) {
         repo.save(GameResultEntity.from(gameResult));
+        saveUserMatches(gameResult);
+    }
+
+    // Only games between registered users are part of their match history.
+    private void saveUserMatches(GameResultDto gameResult) {
+        final Set<UUID> players = Stream.of(gameResult.player1Uuid(), gameResult.player2Uuid()).collect(Collectors.toSet());
+        final Map<UUID, String> usernames = userDao.findAllByUuidIn(players).stream()
+                .collect(Collectors.toMap(UserEntity::getUuid, UserEntity::getUsername));
+        if (!usernames.keySet().containsAll(players) || !usernames.containsKey(gameResult.winnerUuid())) return;
+
+        final Function<UUID, UserMatchEntity> toUserMatch = userUuid -> UserMatchEntity.builder()
+                .userUuid(userUuid)
+                .gameUuid(gameResult.gameUuid())
+                .endingTime(gameResult.gameEnd())
+                .player1(usernames.get(gameResult.player1Uuid()))
+                .player2(usernames.get(gameResult.player2Uuid()))
+                .winner(usernames.get(gameResult.winnerUuid()))
+                .build();
+        userMatchDao.saveAll(players.stream().map(toUserMatch).toList());
+    }
+
+    public int backfillUserMatches() {
+        return userMatchDao.backfillFromGameResults();
     }
 
     @Override
@@ -55,10 +92,18 @@ public class GameResultRepositoryImpl implements GameResultRepository {
     }
 
     @Override
-    public List<GameResultUsernamesDto> findAllByUserUuid(UUID uuid) {
-        final List<GameResultQR> result = repo.findAllByPlayerUuid(uuid);
-        return result.stream()
-                .map(r -> new GameResultUsernamesDto(r.getEnding(), r.getPlayer1(), r.getPlayer2(), r.getWinner()))
+    public List<UserWinsDto> findWinsOfAllUsers() {
+        return repo.findWinsOfAllUsers().stream()
+                .map(userWins -> new UserWinsDto(userWins.getUuid(), userWins.getUsername(), userWins.getWins().intValue()))
                 .toList();
     }
+
+    @Override
+    public List<GameResultUsernamesDto> findPageByUserUuid(UUID uuid, MatchCursor after, int limit) {
+        final Pageable page = Pageable.ofSize(limit);
+        final List<UserMatchEntity> matches = after == null
+                ? userMatchDao.findByUserUuidOrderByEndingTimeDescGameUuidDesc(uuid, page)
+                : userMatchDao.findPageAfter(uuid, after.endingTime(), after.gameUuid(), page);
+        return matches.stream().map(UserMatchEntity::toDto).toList();
+    }
 }
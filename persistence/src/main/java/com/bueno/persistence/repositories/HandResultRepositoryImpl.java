@@ -26,6 +26,8 @@ import com.bueno.persistence.dao.HandResultDao;
 import com.bueno.persistence.dto.HandResultEntity;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public class HandResultRepositoryImpl implements HandResultRepository {
 
@@ -39,4 +41,14 @@ public class HandResultRepositoryImpl implements HandResultRepository {
     public void save(HandResultDto handResultDto) {
         dao.save(HandResultEntity.from(handResultDto));
     }
+
+    public long prepareIdSequence() {
+        dao.createIdSequenceIfMissing();
+        return dao.moveIdSequencePastExistingIds();
+    }
+
+    @Override
+    public void saveAll(List<HandResultDto> handResultDtos) {
+        dao.saveAll(handResultDtos.stream().map(HandResultEntity::from).toList());
+    }
 }
@@ -66,7 +66,7 @@ public class WebApp {
 
             //gameResultRepository.findTopWinners(3).forEach((entry -> System.out.println(entry.username() + " - " + entry.wins())));
 
-            //gameResultRepository.findAllByUserUuid(defaultUuid).forEach(System.out::println);
+            //gameResultRepository.findPageByUserUuid(defaultUuid, null, 20).forEach(System.out::println);
 
         };
     }
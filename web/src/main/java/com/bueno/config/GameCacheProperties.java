@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "application.game-cache")
+public class GameCacheProperties {
+
+    private long flushDelayInMillis = 2_000;
+    private int maxDirtyGames = 1_000;
+    private int idleTimeoutInMinutes = 10;
+    private boolean writeThrough = false;
+
+    public GameCacheProperties() {
+    }
+
+    public long getFlushDelayInMillis() {
+        return flushDelayInMillis;
+    }
+
+    public void setFlushDelayInMillis(long flushDelayInMillis) {
+        this.flushDelayInMillis = flushDelayInMillis;
+    }
+
+    public int getMaxDirtyGames() {
+        return maxDirtyGames;
+    }
+
+    public void setMaxDirtyGames(int maxDirtyGames) {
+        this.maxDirtyGames = maxDirtyGames;
+    }
+
+    public int getIdleTimeoutInMinutes() {
+        return idleTimeoutInMinutes;
+    }
+
+    public void setIdleTimeoutInMinutes(int idleTimeoutInMinutes) {
+        this.idleTimeoutInMinutes = idleTimeoutInMinutes;
+    }
+
+    public boolean isWriteThrough() {
+        return writeThrough;
+    }
+
+    public void setWriteThrough(boolean writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+}
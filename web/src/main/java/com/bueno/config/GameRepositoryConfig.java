@@ -0,0 +1,69 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.config;
+
+import com.bueno.domain.usecases.game.repos.CachingGameRepository;
+import com.bueno.domain.usecases.game.repos.EventSourcedGameRepository;
+import com.bueno.domain.usecases.game.repos.GameRepository;
+import com.bueno.domain.usecases.game.repos.IntelPublishingGameRepository;
+import com.bueno.domain.usecases.intel.IntelBroadcaster;
+import com.bueno.persistence.repositories.GameEventStoreImpl;
+import com.bueno.persistence.repositories.GameRepositoryImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+public class GameRepositoryConfig {
+
+    // Use cases get the cached repository, which publishes the new intel of the games written to it. The Mongo
+    // repository is only reached through the cache. With the game event log enabled, games are stored as move events
+    // and snapshots instead of whole documents. When several instances share the same database, the cache must write
+    // through, so that a game updated by another instance is detected by its version and read again.
+    @Bean
+    @Primary
+    public GameRepository intelPublishingGameRepository(CachingGameRepository cachingGameRepository,
+                                                        IntelBroadcaster intelBroadcaster) {
+        return new IntelPublishingGameRepository(cachingGameRepository, intelBroadcaster);
+    }
+
+    // Intel is sent to the streams by the delivery threads, not by the threads that write the games.
+    @Bean(destroyMethod = "close")
+    public IntelBroadcaster intelBroadcaster(CachingGameRepository cachingGameRepository,
+                                             IntelStreamProperties streamProperties) {
+        return new IntelBroadcaster(cachingGameRepository, streamProperties.getDeliveryThreads());
+    }
+
+    @Bean(destroyMethod = "close")
+    public CachingGameRepository cachingGameRepository(GameRepositoryImpl gameRepository, GameEventStoreImpl gameEventStore,
+                                                       GameCacheProperties properties, GameEventLogProperties eventLog) {
+        final GameRepository delegate = eventLog.isEnabled()
+                ? new EventSourcedGameRepository(gameEventStore, eventLog.getSnapshotEveryHands())
+                : gameRepository;
+        return new CachingGameRepository(delegate,
+                Duration.ofMillis(properties.getFlushDelayInMillis()),
+                properties.getMaxDirtyGames(),
+                Duration.ofMinutes(properties.getIdleTimeoutInMinutes()),
+                properties.isWriteThrough());
+    }
+}
@@ -20,14 +20,26 @@
 
 package com.bueno.controllers;
 
+import com.bueno.config.IntelStreamProperties;
 import com.bueno.domain.usecases.intel.HandleIntelUseCase;
+import com.bueno.domain.usecases.intel.IntelBroadcaster;
+import com.bueno.domain.usecases.intel.dtos.IntelDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.UUID;
 
 @RestController
@@ -35,9 +47,14 @@ import java.util.UUID;
 public class IntelController {
 
     private final HandleIntelUseCase intelUseCase;
+    private final IntelBroadcaster intelBroadcaster;
+    private final IntelStreamProperties streamProperties;
 
-    public IntelController(HandleIntelUseCase intelUseCase) {
+    public IntelController(HandleIntelUseCase intelUseCase, IntelBroadcaster intelBroadcaster,
+                           IntelStreamProperties streamProperties) {
         this.intelUseCase = intelUseCase;
+        this.intelBroadcaster = intelBroadcaster;
+        this.streamProperties = streamProperties;
     }
 
     @GetMapping(path = "/in-turn")
@@ -47,9 +64,34 @@ public class IntelController {
     }
 
     @GetMapping(path = "/last-intel")
-    private ResponseEntity<?> getLastIntel(@PathVariable UUID uuid){
+    private ResponseEntity<?> getLastIntel(@PathVariable UUID uuid,
+                                           @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch){
+        final var version = intelUseCase.findIntelVersion(uuid);
+        if (matches(ifNoneMatch, version)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
         final var responseModel = intelUseCase.findLastIntel(uuid);
-        return ResponseEntity.ok(responseModel);
+        return ResponseEntity.ok().eTag(version).body(responseModel);
+    }
+
+    // Returns the compact intel after the cursor, which is the last sequence the client has received. The ETag is the
+    // version of the stored game, so a poll with an unchanged If-None-Match is answered with 304 without reading the
+    // game, and other polls read it only once.
+    @GetMapping(path = "/intel-delta")
+    private ResponseEntity<?> getIntelDelta(@PathVariable UUID uuid,
+                                            @RequestParam(defaultValue = "0") long cursor,
+                                            @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch){
+        final var version = intelUseCase.findIntelVersion(uuid);
+        if (matches(ifNoneMatch, version)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        final var delta = intelUseCase.findIntelDelta(uuid, cursor);
+        return ResponseEntity.ok().eTag(delta.version()).body(delta);
+    }
+
+    private boolean matches(String ifNoneMatch, String version) {
+        if (ifNoneMatch == null) return false;
+        final var etag = "\"" + version + "\"";
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
     }
 
     @GetMapping(path = "/intel-since/{timestamp}")
@@ -57,4 +99,28 @@ public class IntelController {
         final var intelSince = intelUseCase.findIntelSince(uuid, timestamp);
         return ResponseEntity.ok(intelSince);
     }
+
+    // Streams every new intel as a server-sent event whose id is the intel timestamp. Clients resume from the
+    // Last-Event-ID header sent on reconnection, or from the since parameter, instead of polling intel-since.
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private SseEmitter streamIntel(@PathVariable UUID uuid,
+                                   @RequestHeader(name = "Last-Event-ID", required = false) Instant lastEventId,
+                                   @RequestParam(required = false) Instant since){
+        final var emitter = new SseEmitter(Duration.ofMinutes(streamProperties.getTimeoutInMinutes()).toMillis());
+        final var cursor = lastEventId != null ? lastEventId : since;
+        final var subscription = intelBroadcaster.subscribe(uuid, cursor, intel -> send(emitter, intel));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, IntelDto intel) {
+        try {
+            emitter.send(SseEmitter.event().id(intel.timestamp().toString()).name("intel").data(intel));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -20,6 +20,8 @@
 
 package com.bueno.controllers;
 
+import com.bueno.domain.usecases.bot.BotTurnExecutor;
+import com.bueno.domain.usecases.bot.dtos.BotTurnStatsDto;
 import com.bueno.domain.usecases.game.usecase.ReportTopWinnersUseCase;
 import com.bueno.domain.usecases.game.dtos.TopWinnersDto;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,13 +34,20 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReportController {
 
     private final ReportTopWinnersUseCase reportTopWinnersUseCase;
+    private final BotTurnExecutor botTurnExecutor;
 
-    public ReportController(ReportTopWinnersUseCase reportTopWinnersUseCase) {
+    public ReportController(ReportTopWinnersUseCase reportTopWinnersUseCase, BotTurnExecutor botTurnExecutor) {
         this.reportTopWinnersUseCase = reportTopWinnersUseCase;
+        this.botTurnExecutor = botTurnExecutor;
     }
 
     @GetMapping(path = "/top-winners/{numberOfTopWinners}")
     public TopWinnersDto topWinners(@PathVariable int numberOfTopWinners){
         return reportTopWinnersUseCase.create(numberOfTopWinners);
     }
+
+    @GetMapping(path = "/bot-turns")
+    public BotTurnStatsDto botTurns(){
+        return botTurnExecutor.stats();
+    }
 }
@@ -75,7 +75,9 @@ public class UserController {
     }
 
     @GetMapping(path = "/api/v1/users/{uuid}/matches")
-    public UserRecordDto removeGame(@PathVariable UUID uuid){
-        return userRecordUseCase.listByUuid(uuid);
+    public UserRecordDto removeGame(@PathVariable UUID uuid,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit){
+        return userRecordUseCase.listByUuid(uuid, cursor, limit);
     }
 }
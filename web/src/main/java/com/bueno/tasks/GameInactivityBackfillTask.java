@@ -0,0 +1,48 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.tasks;
+
+import com.bueno.persistence.repositories.GameRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Fills the last activity and current player of the games saved before they existed, so that the inactivity sweep
+// finds them. Games that already have them are skipped.
+@Component
+public class GameInactivityBackfillTask {
+
+    private static final Logger log = LoggerFactory.getLogger(GameInactivityBackfillTask.class);
+
+    private final GameRepositoryImpl gameRepository;
+
+    public GameInactivityBackfillTask(GameRepositoryImpl gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        final int updatedGames = gameRepository.backfillInactivity();
+        if (updatedGames > 0) log.info("Backfilled the inactivity fields of {} games.", updatedGames);
+    }
+}
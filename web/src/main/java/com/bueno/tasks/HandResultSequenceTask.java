@@ -0,0 +1,48 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.tasks;
+
+import com.bueno.persistence.repositories.HandResultRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Creates the hand result id sequence in databases where hand results still used an identity column, and moves it
+// past the ids that column generated, so new hand results do not collide with them.
+@Component
+public class HandResultSequenceTask {
+
+    private static final Logger log = LoggerFactory.getLogger(HandResultSequenceTask.class);
+
+    private final HandResultRepositoryImpl handResultRepository;
+
+    public HandResultSequenceTask(HandResultRepositoryImpl handResultRepository) {
+        this.handResultRepository = handResultRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        final long lastId = handResultRepository.prepareIdSequence();
+        log.info("Hand result ids continue after {}.", lastId);
+    }
+}
@@ -42,7 +42,7 @@ public class RemoveInactiveTask {
 
     @Scheduled(fixedRate = 30_000)
     public void reportCurrentTime() {
-        final List<UUID> removedGames = removeGameUseCase.byInactivityAfter(5);
-        removedGames.forEach(gameUuid -> log.info("Removed game {} due to inactivity.", gameUuid));
+        final List<UUID> inactivePlayers = removeGameUseCase.byInactivityAfter(5);
+        inactivePlayers.forEach(playerUuid -> log.info("Removed game of player {} due to inactivity.", playerUuid));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+/*
+ *  Copyright (C) 2022 Lucas B. R. de Oliveira - IFSP/SCL
+ *  Contact: lucas <dot> oliveira <at> ifsp <dot> edu <dot> br
+ *
+ *  This file is part of CTruco (Truco game for didactic purpose).
+ *
+ *  CTruco is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  CTruco is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with CTruco.  If not, see <https://www.gnu.org/licenses/>
+ */
+
+package com.bueno.tasks;
+
+import com.bueno.persistence.repositories.GameResultRepositoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Fills the user match history with the game results saved before it existed. Games already in it are skipped.
+@Component
+public class UserMatchBackfillTask {
+
+    private static final Logger log = LoggerFactory.getLogger(UserMatchBackfillTask.class);
+
+    private final GameResultRepositoryImpl gameResultRepository;
+
+    public UserMatchBackfillTask(GameResultRepositoryImpl gameResultRepository) {
+        this.gameResultRepository = gameResultRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        final int insertedMatches = gameResultRepository.backfillUserMatches();
+        if (insertedMatches > 0) log.info("Backfilled {} user matches from game results.", insertedMatches);
+    }
+}